@@ -0,0 +1,32 @@
+package com.seatsniper.jmh;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import com.seatsniper.utilities.AppointmentTimeParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentTimeParserBenchmark {
+    // As read from the ENRL_START$0 field of the enrollment appointment page
+    private final String appointmentText = "January 8, 2026\n9:30AM";
+
+    @Benchmark
+    public ZonedDateTime parseAppointmentTime() {
+        return AppointmentTimeParser.parse(appointmentText);
+    }
+}
@@ -0,0 +1,30 @@
+package com.seatsniper.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs every benchmark with the GC profiler so allocation rate per operation is reported next to the timings
+public final class BenchmarkRunner {
+    private static final String RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "com\\.seatsniper\\.jmh\\..*";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,51 @@
+package com.seatsniper.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import com.seatsniper.enrollment.EnrollmentResult;
+import com.seatsniper.enrollment.EnrollmentResultParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnrollmentResultParserBenchmark {
+    // course_box texts as recorded from Schedule Builder checkout results
+    private static final String ENROLLED_BOX = "CSCI 127 - Introduction to Computer Science\nLecture 16158 | MoWe 9:45AM - 11:00AM\nSuccess: This class has been added to your schedule.";
+    private static final String WAITLISTED_BOX = "MATH 150 - Mathematical Analysis I\nLecture 18551 | TuTh 12:25PM - 1:40PM\nSuccess: This class has been added to your wait list in position number 7.";
+    private static final String FAILED_BOX = "ENGL 110 - College Writing\nSeminar 17412 | Fr 10:00AM - 12:50PM\nFailed\nClass 17412 is full. You cannot enroll or be placed on the wait list.";
+
+    @Param({"ENROLLED", "WAITLISTED", "FAILED"})
+    public String outcome;
+
+    private String boxText;
+
+    @Setup
+    public void setUp() {
+        boxText = switch (outcome) {
+            case "ENROLLED" -> ENROLLED_BOX;
+            case "WAITLISTED" -> WAITLISTED_BOX;
+            case "FAILED" -> FAILED_BOX;
+            default -> throw new IllegalArgumentException("Unknown outcome: " + outcome);
+        };
+    }
+
+    @Benchmark
+    public EnrollmentResult parseCourseBox() {
+        return EnrollmentResultParser.parse(boxText);
+    }
+}
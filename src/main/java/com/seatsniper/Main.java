@@ -1,20 +1,48 @@
 package com.seatsniper;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import com.seatsniper.daemon.SnipingDaemon;
+
 public class Main {
     private static final String ERROR_DURING_SETUP = "An error occured during the set up process. Did you properly enter your information?";
+    private static final String DAEMON_FLAG = "--daemon";
+    private static final String DAEMON_USAGE = "Usage: --daemon <jobsDirectory> [poolSize] [maxJobs] [metricsPort]";
+    private static final int DEFAULT_POOL_SIZE = 2;
+    private static final int DEFAULT_MAX_JOBS = 50;
 
     public static void main(String[] args) {
-        Sniper sniper = new Sniper();
+        if (args.length > 0 && DAEMON_FLAG.equals(args[0])) {
+            runDaemon(args);
+
+            return;
+        }
+
+        Sniper sniper = args.length > 0 ? new Sniper(Paths.get(args[0])) : new Sniper();
 
         try {
             sniper.setUp();
-            sniper.login();
-            sniper.authenticate();
-            sniper.determineEligibility();
-            sniper.navigateToScheduleBuilder();
-            sniper.selectTerm();
+
+            boolean restored = signIn(sniper);
+
+            if (sniper.idleUntilPrewarm()) {
+                sniper.setUp();
+                restored = signIn(sniper);
+            }
+
+            if (!restored) {
+                sniper.selectTerm();
+                sniper.saveSession();
+            }
+
             sniper.initializeEnrollmentLoop();
-            sniper.startEnrollmentLoop();
+
+            boolean finished = sniper.isAppointmentPending() && sniper.fireAtAppointment();
+
+            if (!finished) {
+                sniper.startEnrollmentLoop();
+            }
         } catch (InterruptedException e) {
             System.err.println(ERROR_DURING_SETUP + "\n" + e.getMessage());
             e.printStackTrace();
@@ -26,4 +54,39 @@ public class Main {
             sniper.selfDestruct();
         }
     }
+
+    // Returns true when a saved session skipped the login and the browser is already on the Schedule Builder
+    private static boolean signIn(Sniper sniper) throws IOException, InterruptedException {
+        if (sniper.restoreSession()) {
+            return true;
+        }
+
+        sniper.login();
+        sniper.authenticate();
+        // The Schedule Builder loads in its own tab while the appointment is read in this one
+        sniper.navigateToScheduleBuilder();
+        sniper.determineEligibility();
+
+        return false;
+    }
+
+    private static void runDaemon(String[] args) {
+        if (args.length < 2) {
+            System.err.println(DAEMON_USAGE);
+
+            return;
+        }
+
+        try {
+            int poolSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_POOL_SIZE;
+            int maxJobs = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_JOBS;
+            int metricsPort = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+            new SnipingDaemon(Paths.get(args[1]), poolSize, maxJobs, metricsPort).run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(DAEMON_USAGE + "\n" + e.getMessage());
+        }
+    }
 }
@@ -1,96 +1,318 @@
 package com.seatsniper;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
-
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import com.seatsniper.browser.BrowserLauncher;
+import com.seatsniper.browser.BrowserProfile;
+import com.seatsniper.browser.BrowserSession;
+import com.seatsniper.browser.SessionStore;
+import com.seatsniper.browser.StoredSession;
+import com.seatsniper.browser.TransferStatistics;
+import com.seatsniper.enrollment.CheckpointStore;
+import com.seatsniper.enrollment.CourseGroup;
+import com.seatsniper.enrollment.LoopCheckpoint;
+import com.seatsniper.enrollment.LoopSettings;
+import com.seatsniper.journal.EventJournal;
+import com.seatsniper.metrics.MetricsEndpoint;
+import com.seatsniper.notification.WebhookNotifier;
+import com.seatsniper.probe.SeatAvailabilityProbe;
+import com.seatsniper.recovery.RecoveryActions;
+import com.seatsniper.recovery.RecoveryWatchdog;
+import com.seatsniper.timing.ClockOffset;
+import com.seatsniper.timing.ClockOffsetEstimator;
+import com.seatsniper.utilities.AppointmentTimeParser;
+import com.seatsniper.utilities.AppointmentTimer;
 import com.seatsniper.utilities.ConfigurationLoader;
-import com.seatsniper.pages.BasePage;
+import com.seatsniper.utilities.ConfigurationWatcher;
+import com.seatsniper.utilities.StartupTimeline;
 import com.seatsniper.pages.LoginPage;
 import com.seatsniper.pages.AuthenticationPage;
 import com.seatsniper.pages.NavigatePage;
 import com.seatsniper.pages.ScheduleBuilderPage;
 import com.seatsniper.pages.LoopPage;
 
-import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 
 public class Sniper {
     private static final String STARTING_PAGE_URL = "https://www.cuny.edu/about/administration/offices/cis/cunyfirst/";
-    private static final String SITE_DATE_FORMAT = "MMMM d, yyyy\nh:mma";
-    private static final ZoneId ENROLLMENT_TIMEZONE = ZoneId.of("America/New_York");
+    private static final ZoneId ENROLLMENT_TIMEZONE = AppointmentTimeParser.ENROLLMENT_TIMEZONE;
+    private static final Path STATE_DIRECTORY = Paths.get(".seatsniper");
+    private static final Path PROFILE_BASELINE_PATH = STATE_DIRECTORY.resolve("profile_baseline.properties");
+    private static final String JOURNAL_DIRECTORY_NAME = "journal";
+    private static final String WEBHOOK_TITLE = "SeatSniper %s update:";
+    private static final Duration SESSION_VALIDATION_TIMEOUT = Duration.ofSeconds(8);
+    private static final String TRANSFER_LABEL_LANDING = "Landing page";
+    private static final String TRANSFER_LABEL_SCHEDULE_BUILDER = "Schedule Builder";
+    // A scheduler run logged in moments before, so it can wait on the checkout page; an interactive run may have
+    // waited for hours and only re-stages the cart just ahead of the appointment
+    private static final Duration SCHEDULED_CHECKOUT_LEAD = Duration.ofSeconds(30);
+    private static final Duration INTERACTIVE_CHECKOUT_LEAD = Duration.ofSeconds(5);
+    // Reloads while waiting for the appointment keep CUNYfirst from timing the idle session out
+    private static final Duration KEEP_ALIVE_INTERVAL = Duration.ofMinutes(5);
 
     private static final String ERROR_APPOINTMENT_DATE = "Your enrollment appointment must be within 24 hours for the process to be scheduled. Try again at a later time.";
+    private static final String MESSAGE_SESSION_RESTORED = "Restored the previous CUNYfirst session, skipping login.";
+    private static final String MESSAGE_SESSION_EXPIRED = "The saved CUNYfirst session has expired, logging in again.";
+    private static final String MESSAGE_CLOCK_OFFSET = "Server clock offset from this machine: %s";
+    private static final String MESSAGE_JOURNAL_FAILED = "Could not open the event journal (%s), this run will not be recorded.";
+    private static final String MESSAGE_CHECKPOINT_RESTORED = "Resuming from the checkpoint of cycle %d, %d of %d sections are still being attempted.";
+    private static final String MESSAGE_CHECKPOINT_FAILED = "Could not read the loop checkpoint (%s), starting from the configured sections.";
+    private static final String MESSAGE_WATCHER_FAILED = "Could not watch %s for changes (%s), edits will need a restart.";
+    private static final String MESSAGE_RELOAD_REJECTED = "The configuration change was not applied, %s only take effect after a restart.";
+    private static final String MESSAGE_CLOCK_FAILED = "Could not measure the server clock (%s), using this machine's clock.";
+    private static final String MESSAGE_IDLING = "\nAppointment at %s. Closing the browser until %s, when it will log in again and stage the cart.";
+    private static final String MESSAGE_STAGED_EARLY = "\nCart staged, checkout opens at %s.";
+    private static final String MESSAGE_STAGED = "\nCart staged, enrollment fires at %s.";
+    private static final String MESSAGE_FIRED = "Enroll clicked %dms after the appointment time.";
+    private static final String MESSAGE_NOT_STAGED = "\nThe cart could not be staged before the appointment, continuing with the enrollment loop.";
     private static final String MESSAGE_START_AUTOMATION = "\n\nStarting the auto-enrollment section. Please report any encountered errors.";
 
-    protected UserData userData;
-    protected WebDriver driver;
-    protected BasePage basePage;
+    private final Path configPath;
+
+    protected volatile UserData userData;
+    protected ChromeDriver driver;
+    protected BrowserSession session;
     protected LoginPage loginPage;
     protected AuthenticationPage authenticationPage;
     protected NavigatePage navigatePage;
     protected ScheduleBuilderPage scheduleBuilderPage;
     protected List<String> localCourseCodes;
     protected LoopPage loopPage;
+    protected final TransferStatistics transferStatistics = new TransferStatistics();
+    protected SessionStore sessionStore;
+    protected ZonedDateTime appointmentTime;
+    protected EventJournal journal;
+    protected WebhookNotifier webhookNotifier;
+    protected Clock clock = Clock.system(ENROLLMENT_TIMEZONE);
+    protected String startingPageUrl = STARTING_PAGE_URL;
+    protected MetricsEndpoint metricsEndpoint;
+    protected RecoveryWatchdog recoveryWatchdog;
+    private BrowserRecovery browserRecovery;
+    protected String scheduleBuilderUrl;
+    protected ConfigurationWatcher configurationWatcher;
+    protected final StartupTimeline startupTimeline = new StartupTimeline();
+    protected CompletableFuture<ClockOffset> clockMeasurement;
+
+    public Sniper() {
+        this(ConfigurationLoader.DEFAULT_CONFIG_PATH);
+    }
+
+    public Sniper(Path configPath) {
+        this.configPath = configPath;
+    }
+
+    // For callers that load the configuration and provide the browser themselves
+    public Sniper(UserData userData) {
+        this.configPath = null;
+        this.userData = userData;
+        this.sessionStore = createSessionStore(userData);
+    }
 
     public void setUp() throws IOException {
-        userData = ConfigurationLoader.loadData();
+        if (userData == null) {
+            long start = System.nanoTime();
+
+            try {
+                userData = ConfigurationLoader.loadData(configPath);
+                sessionStore = createSessionStore(userData);
+            } finally {
+                startupTimeline.recordSince("load configuration", start);
+            }
+        }
+
+        // Chrome and its driver take seconds to start, everything that doesn't need the browser happens meanwhile
+        CompletableFuture<ChromeDriver> browser = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+
+            try {
+                return BrowserLauncher.launch(userData, sessionStore);
+            } finally {
+                startupTimeline.recordSince("launch browser", start);
+            }
+        });
+
+        try {
+            if (userData.hasMetricsEndpoint() && metricsEndpoint == null) {
+                long start = System.nanoTime();
+
+                try {
+                    metricsEndpoint = MetricsEndpoint.start(userData.getMetricsPort());
+                } finally {
+                    startupTimeline.recordSince("start metrics endpoint", start);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            browser.thenAccept(ChromeDriver::quit);
+
+            throw e;
+        }
 
-        System.setProperty("webdriver.chrome.driver", userData.getDriverPath());
+        attachBrowser(join(browser));
+    }
 
-        ChromeOptions options = new ChromeOptions();
-        options.setBinary(userData.getBrowserPath());
-        options.addArguments("--start-maximized");
-        options.addArguments("--disable-extensions");
-        options.addArguments("--disable-gpu ");
-        options.addArguments("--no-sandbox");
-        //options.addArguments("--headless=new");
+    // Rethrows what the background task threw instead of the CompletionException wrapping it
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
 
-        driver = new ChromeDriver(options);
-        driver.get(STARTING_PAGE_URL);
+    // Binds the page objects to the given browser, the enrollment loop keeps its progress if it already started
+    public void attachBrowser(ChromeDriver browser) {
+        driver = browser;
+        session = new BrowserSession(driver);
 
-        BasePage.setDriver(driver);
+        loginPage = new LoginPage(session);
+        scheduleBuilderPage = new ScheduleBuilderPage(session);
 
-        loginPage = new LoginPage();
+        if (loopPage != null) {
+            loopPage = new LoopPage(session, loopPage);
+        }
+    }
+
+    private static SessionStore createSessionStore(UserData userData) {
+        return new SessionStore(userData.getSessionPersistence(), userData.getCourseTerm(), STATE_DIRECTORY.resolve(userData.getUsername()));
+    }
+
+    // Points the login at another copy of the site, such as the local replica used for benchmarking
+    public void setStartingPageUrl(String startingPageUrl) {
+        this.startingPageUrl = startingPageUrl;
+    }
+
+    public UserData getUserData() {
+        return userData;
+    }
+
+    public ZonedDateTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public boolean isEnrollmentLoopInitialized() {
+        return loopPage != null;
+    }
+
+    // Returns true when a saved session was still valid and the browser is already on the Schedule Builder
+    public boolean restoreSession() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+
+        try {
+            return restoreStoredSession();
+        } finally {
+            startupTimeline.recordSince("restore session", start);
+        }
+    }
+
+    private boolean restoreStoredSession() throws IOException, InterruptedException {
+        StoredSession storedSession = sessionStore.load();
+
+        if (storedSession == null) {
+            return false;
+        }
+
+        appointmentTime = storedSession.getAppointmentTime();
+        checkAppointmentWindow();
+
+        sessionStore.restoreCookies(driver, storedSession);
+        session.getElementCache().invalidateAll();
+        driver.get(storedSession.getScheduleBuilderUrl());
+
+        if (!scheduleBuilderPage.isBuilderLoaded(SESSION_VALIDATION_TIMEOUT)) {
+            System.out.println(MESSAGE_SESSION_EXPIRED);
+            sessionStore.clear();
+            driver.manage().deleteAllCookies();
+
+            return false;
+        }
+
+        System.out.println(MESSAGE_SESSION_RESTORED);
+
+        return true;
+    }
+
+    public void saveSession() throws IOException {
+        if (sessionStore.isEnabled() && scheduleBuilderPage.isBuilderLoaded(SESSION_VALIDATION_TIMEOUT)) {
+            sessionStore.save(driver, driver.getCurrentUrl(), appointmentTime);
+        }
     }
     
     public void login() {
-        authenticationPage = loginPage.logIntoApplication(userData.getUsername(), userData.getPassword());
+        long start = System.nanoTime();
+
+        try {
+            session.getElementCache().invalidateAll();
+            driver.get(startingPageUrl);
+            transferStatistics.sample(driver, TRANSFER_LABEL_LANDING);
+
+            authenticationPage = loginPage.logIntoApplication(userData.getUsername(), userData.getPassword());
+        } finally {
+            startupTimeline.recordSince("log in", start);
+        }
     }
 
     public void authenticate() throws InterruptedException {
-        navigatePage = authenticationPage.authenticateLogin(userData.getAuthenticatorName(), userData.getAuthenticationKey());
+        long start = System.nanoTime();
+
+        try {
+            navigatePage = authenticationPage.authenticateLogin(userData.getAuthenticatorName(), userData.getAuthenticationKey(), clock);
+        } finally {
+            startupTimeline.recordSince("multi-factor authentication", start);
+        }
     }
 
+    // Can run after navigateToScheduleBuilder, which leaves this tab on the landing page while the Schedule Builder loads in its own
     public void determineEligibility() throws InterruptedException {
+        long start = System.nanoTime();
+
+        try {
+            readAppointment();
+        } finally {
+            startupTimeline.recordSince("read appointment", start);
+        }
+    }
+
+    private void readAppointment() throws InterruptedException {
         navigatePage.toStudentCenter();
 
         ///// Move this code to be under the check for empty course codes, that way a proper wait can be added before going back to the Student Center page /////
 
         String enrollmentDate = navigatePage.getEnrollmentAppointmentDate(userData.getCourseTerm());
 
-        ZonedDateTime appointmentTime = parseAppointmentTime(enrollmentDate);
-        ZonedDateTime currentTime = ZonedDateTime.now(ENROLLMENT_TIMEZONE);
-        ZonedDateTime windowStartTime = appointmentTime.minus(24, ChronoUnit.HOURS);
+        appointmentTime = AppointmentTimeParser.parse(enrollmentDate);
 
-        boolean mustWait = false;
-
-        if (!currentTime.isAfter(windowStartTime)) {
-            throw new InterruptedException(ERROR_APPOINTMENT_DATE);
-        } else {
-            mustWait = !currentTime.isAfter(appointmentTime);
+        // The measurement takes several seconds of spaced requests, so it runs alongside term selection and is
+        // only waited for once the corrected clock is needed
+        if (isAppointmentPending()) {
+            startClockMeasurement();
         }
 
-        //System.out.println("Wait before process: " + mustWait);
-
-        //
+        checkAppointmentWindow();
 
         if (userData.getCourseCodes().isEmpty()) {
             //method to navigate back to student center
@@ -106,8 +328,206 @@ public class Sniper {
         navigatePage.backToStudentCenter();
     }
 
+    // Scheduler mode idles without a browser until the appointment, so only the interactive mode needs the 24 hour limit
+    private void checkAppointmentWindow() throws InterruptedException {
+        ZonedDateTime currentTime = ZonedDateTime.now(clock);
+        ZonedDateTime windowStartTime = appointmentTime.minus(24, ChronoUnit.HOURS);
+
+        if (!userData.isSchedulerMode() && !currentTime.isAfter(windowStartTime)) {
+            throw new InterruptedException(ERROR_APPOINTMENT_DATE);
+        }
+    }
+
+    // Measures the offset against the server the browser is on, the corrected clock drives prewarming and firing
+    private void synchronizeClock() {
+        startClockMeasurement();
+        awaitClockMeasurement();
+    }
+
+    // Cookies are read here because the browser can only be driven from one thread
+    private void startClockMeasurement() {
+        URI serverUri;
+
+        try {
+            serverUri = URI.create(driver.getCurrentUrl());
+        } catch (IllegalArgumentException e) {
+            System.out.println(String.format(MESSAGE_CLOCK_FAILED, e.getMessage()));
+
+            return;
+        }
+
+        Set<Cookie> cookies = driver.manage().getCookies();
+
+        clockMeasurement = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+
+            try {
+                return new ClockOffsetEstimator(serverUri, () -> cookies).estimate();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new CompletionException(e);
+            } finally {
+                startupTimeline.recordSince("measure server clock", start);
+            }
+        });
+    }
+
+    // Applies a measurement started earlier, the clock stays on this machine's time if it failed
+    private void awaitClockMeasurement() {
+        if (clockMeasurement == null) {
+            return;
+        }
+
+        try {
+            ClockOffset clockOffset = clockMeasurement.join();
+
+            clock = clockOffset.correct(Clock.system(ENROLLMENT_TIMEZONE));
+
+            System.out.println(String.format(MESSAGE_CLOCK_OFFSET, clockOffset));
+        } catch (CompletionException e) {
+            System.out.println(String.format(MESSAGE_CLOCK_FAILED, e.getCause().getMessage()));
+        } finally {
+            clockMeasurement = null;
+        }
+    }
+
+    public boolean isAppointmentPending() {
+        awaitClockMeasurement();
+
+        return appointmentTime != null && clock.instant().isBefore(appointmentTime.toInstant());
+    }
+
+    // Returns true when the browser was closed and has to be set up and logged in again
+    public boolean idleUntilPrewarm() throws InterruptedException {
+        if (!userData.isSchedulerMode() || appointmentTime == null) {
+            return false;
+        }
+
+        awaitClockMeasurement();
+
+        Instant prewarmTime = appointmentTime.toInstant().minusSeconds(userData.getSchedulerLeadTime());
+
+        if (!clock.instant().isBefore(prewarmTime)) {
+            return false;
+        }
+
+        System.out.println(String.format(MESSAGE_IDLING, appointmentTime, prewarmTime.atZone(ENROLLMENT_TIMEZONE)));
+
+        driver.quit();
+        AppointmentTimer.sleepUntil(prewarmTime, clock);
+
+        return true;
+    }
+
+    // Stages the cart and waits on the checkout page so the Enroll click lands at the appointment instant. Every step
+    // runs under the watchdog, returns false when the enrollment loop has to take over
+    public boolean fireAtAppointment() throws InterruptedException {
+        Instant firingTime = appointmentTime.toInstant();
+
+        if (!loopPage.hasRemainingCourses()) {
+            return true;
+        }
+
+        runRecovering(loopPage::awaitScheduleBuilder);
+        synchronizeClock();
+
+        Instant checkoutTime = firingTime.minus(userData.isSchedulerMode() ? SCHEDULED_CHECKOUT_LEAD : INTERACTIVE_CHECKOUT_LEAD);
+
+        // Staging early finds sections the search can't see while there is still time to fix the configuration
+        if (clock.instant().isBefore(checkoutTime) && runRecovering(loopPage::stageCart)) {
+            System.out.println(String.format(MESSAGE_STAGED_EARLY, checkoutTime.atZone(ENROLLMENT_TIMEZONE)));
+            keepSessionAlive(checkoutTime);
+        }
+
+        if (!openCheckoutBefore(firingTime)) {
+            System.out.println(MESSAGE_NOT_STAGED);
+
+            return false;
+        }
+
+        System.out.println(String.format(MESSAGE_STAGED, appointmentTime));
+        startupTimeline.markReady();
+
+        AppointmentTimer.sleepUntil(firingTime, clock);
+
+        Instant wokeAt = clock.instant();
+        long wokeNanos = System.nanoTime();
+        boolean finished;
+
+        try {
+            finished = loopPage.fireEnrollment();
+        } catch (RuntimeException e) {
+            // The loop stages the cart again and keeps attempting
+            recoveryWatchdog.recover(e);
+
+            return false;
+        }
+
+        recoveryWatchdog.recordSuccess();
+        loopPage.saveCheckpoint();
+
+        long firingLagNanos = Duration.between(firingTime, wokeAt).toNanos() + loopPage.getLastEnrollClickNanos() - wokeNanos;
+
+        System.out.println(String.format(MESSAGE_FIRED, TimeUnit.NANOSECONDS.toMillis(firingLagNanos)));
+
+        return finished;
+    }
+
+    // Re-stages the cart, which only adds what went missing, and opens the checkout, retrying until the appointment
+    private boolean openCheckoutBefore(Instant firingTime) {
+        while (clock.instant().isBefore(firingTime)) {
+            if (runRecovering(() -> {
+                loopPage.awaitScheduleBuilder();
+                loopPage.stageCart();
+                loopPage.openCheckout();
+            })) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // The last reload is a full interval ahead of the deadline so it can't delay the checkout
+    private void keepSessionAlive(Instant until) throws InterruptedException {
+        Instant nextReload = clock.instant().plus(KEEP_ALIVE_INTERVAL);
+
+        while (nextReload.plus(KEEP_ALIVE_INTERVAL).isBefore(until)) {
+            AppointmentTimer.sleepUntil(nextReload, clock);
+            runRecovering(browserRecovery::reloadScheduleBuilder);
+            nextReload = clock.instant().plus(KEEP_ALIVE_INTERVAL);
+        }
+
+        AppointmentTimer.sleepUntil(until, clock);
+    }
+
+    // Returns false when the step failed and the watchdog recovered the browser, rethrows when it could not
+    private boolean runRecovering(Runnable step) {
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            recoveryWatchdog.recover(e);
+
+            return false;
+        }
+
+        recoveryWatchdog.recordSuccess();
+
+        return true;
+    }
+
+    // Opens the Schedule Builder in a new tab and returns without waiting for it, selectTerm switches over once it is needed
     public void navigateToScheduleBuilder() {
-        scheduleBuilderPage = navigatePage.toScheduleBuilder();
+        long start = System.nanoTime();
+
+        try {
+            scheduleBuilderPage = navigatePage.toScheduleBuilder();
+        } finally {
+            startupTimeline.recordSince("open Schedule Builder tab", start);
+        }
     }
 
     private void switchTabs(int index) {
@@ -124,32 +544,263 @@ public class Sniper {
     }
 
     public void selectTerm() {
-        switchTabs(1);
+        long start = System.nanoTime();
+
+        try {
+            switchTabs(1);
 
-        scheduleBuilderPage.setTerm(userData.getCourseTerm());
-        scheduleBuilderPage.clickSelectedTerm();
+            scheduleBuilderPage.setTerm(userData.getCourseTerm());
+            scheduleBuilderPage.clickSelectedTerm();
+        } finally {
+            startupTimeline.recordSince("select term", start);
+        }
     }
 
     public void initializeEnrollmentLoop() {
         System.out.println(MESSAGE_START_AUTOMATION);
 
         localCourseCodes = new ArrayList<>(userData.getCourseCodes());
-        loopPage = new LoopPage(localCourseCodes, userData.getDuration(), userData.getInterval());
+        loopPage = new LoopPage(session, localCourseCodes, userData.getCourseGroups(), userData.getDuration(), userData.getInterval(), userData.getMaxInterval());
+        scheduleBuilderUrl = driver.getCurrentUrl();
+        browserRecovery = new BrowserRecovery();
+        recoveryWatchdog = new RecoveryWatchdog(browserRecovery);
+
+        restoreCheckpoint();
+
+        if (userData.hasSeatProbe()) {
+            SeatAvailabilityProbe seatProbe = new SeatAvailabilityProbe(
+                URI.create(driver.getCurrentUrl()),
+                ScheduleBuilderPage.calculateTermCode(userData.getCourseTerm()),
+                () -> driver.manage().getCookies()
+            );
+
+            loopPage.setSeatProbe(seatProbe, userData.getProbeInterval());
+        }
+
+        openJournal();
+
+        if (userData.hasWebhooks()) {
+            webhookNotifier = new WebhookNotifier(userData.getWebhookUrls(), String.format(WEBHOOK_TITLE, userData.getCourseTerm()));
+            loopPage.addListener(webhookNotifier);
+        }
+
+        // Callers that pass in their own UserData have no file to watch
+        if (configPath != null) {
+            watchConfiguration();
+        }
+    }
+
+    private void watchConfiguration() {
+        try {
+            configurationWatcher = ConfigurationWatcher.start(configPath, this::applyConfiguration);
+        } catch (IOException e) {
+            System.err.println(String.format(MESSAGE_WATCHER_FAILED, configPath, e.getMessage()));
+        }
+    }
+
+    // Runs on the watcher thread, the loop picks the new settings up between cycles
+    private synchronized void applyConfiguration(UserData updated) {
+        List<String> restartOnlyChanges = ConfigurationLoader.findRestartOnlyChanges(userData, updated);
+
+        if (!restartOnlyChanges.isEmpty()) {
+            System.err.println(String.format(MESSAGE_RELOAD_REJECTED, String.join(", ", restartOnlyChanges)));
+
+            return;
+        }
+
+        if (updated.equals(userData)) {
+            return;
+        }
+
+        userData = updated;
+        loopPage.reconfigure(new LoopSettings(
+            updated.getCourseGroups(),
+            updated.getInterval(),
+            updated.getMaxInterval(),
+            updated.getDuration(),
+            LoopCheckpoint.fingerprint(updated.getCourseTerm(), updated.getCourseGroups())
+        ));
+    }
+
+    // Sections settled before a crash or restart are skipped, a checkpoint from another term or section list is ignored
+    private void restoreCheckpoint() {
+        CheckpointStore checkpointStore = new CheckpointStore(STATE_DIRECTORY.resolve(userData.getUsername()));
+        String fingerprint = LoopCheckpoint.fingerprint(userData.getCourseTerm(), userData.getCourseGroups());
+
+        try {
+            LoopCheckpoint checkpoint = checkpointStore.load(fingerprint);
+
+            if (checkpoint != null) {
+                loopPage.restoreCheckpoint(checkpoint);
+                System.out.println(String.format(MESSAGE_CHECKPOINT_RESTORED, checkpoint.getCycleCount(), localCourseCodes.size(), userData.getCourseCodes().size()));
+            }
+        } catch (IOException e) {
+            System.err.println(String.format(MESSAGE_CHECKPOINT_FAILED, e.getMessage()));
+        }
+
+        loopPage.setCheckpointStore(checkpointStore, fingerprint);
+    }
+
+    private void openJournal() {
+        Map<String, Object> sessionFields = new LinkedHashMap<>();
+
+        sessionFields.put("term", userData.getCourseTerm());
+        sessionFields.put("sections", userData.getCourseGroups().stream().map(CourseGroup::toString).toList());
+        sessionFields.put("interval", userData.getInterval());
+        sessionFields.put("appointment", appointmentTime == null ? null : appointmentTime.toString());
+
+        try {
+            journal = EventJournal.open(STATE_DIRECTORY.resolve(userData.getUsername()).resolve(JOURNAL_DIRECTORY_NAME), sessionFields);
+            loopPage.addListener(journal);
+        } catch (IOException e) {
+            System.err.println(String.format(MESSAGE_JOURNAL_FAILED, e.getMessage()));
+        }
+    }
+
+    public synchronized void closeListeners() {
+        if (configurationWatcher != null) {
+            configurationWatcher.close();
+            configurationWatcher = null;
+        }
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+        if (webhookNotifier != null) {
+            webhookNotifier.close();
+            webhookNotifier = null;
+        }
+    }
+
+    public void startEnrollmentLoop() {
+        startupTimeline.markReady();
+        loopPage.startEnrollmentLoop(recoveryWatchdog);
+    }
+
+    // Single attempt for callers that schedule cycles themselves, returns true once every course has been settled
+    public boolean runEnrollmentCycle() {
+        if (!loopPage.hasRemainingCourses()) {
+            return true;
+        }
+
+        startupTimeline.markReady();
+        loopPage.awaitScheduleBuilder();
+
+        return loopPage.runCycle();
+    }
+
+    // Time until the polling scheduler wants the next cycle, for the daemon which queues cycles itself
+    public Duration nextCycleDelay() {
+        return loopPage.nextCycleDelay();
     }
 
-    public void startEnrollmentLoop() throws InterruptedException {
-        Thread.sleep(5000);
-        loopPage.startEnrollmentLoop();
+    public void wakeEnrollmentLoop() {
+        if (loopPage != null) {
+            loopPage.wake();
+        }
     }
 
     public void selfDestruct() {
+        System.out.println(session.getWaitStatistics().summary());
+        System.out.println(session.getElementCache().summary());
+        System.out.println(startupTimeline.summary());
+
+        if (recoveryWatchdog != null) {
+            System.out.println(recoveryWatchdog.summary());
+        }
+
+        reportTransferStatistics();
+        closeListeners();
+
+        if (metricsEndpoint != null) {
+            metricsEndpoint.close();
+        }
+
         driver.quit();
     }
-    
-    private ZonedDateTime parseAppointmentTime(String siteDateString) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(SITE_DATE_FORMAT, Locale.ENGLISH);
-        LocalDateTime localDateTime = LocalDateTime.parse(siteDateString.trim(), formatter);
 
-        return localDateTime.atZone(ENROLLMENT_TIMEZONE);
+    // Recovery steps for the watchdog, each one leaves the browser on the Schedule Builder or throws
+    private final class BrowserRecovery implements RecoveryActions {
+        @Override
+        public String currentUrl() {
+            try {
+                return driver.getCurrentUrl();
+            } catch (WebDriverException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String scheduleBuilderUrl() {
+            return scheduleBuilderUrl;
+        }
+
+        @Override
+        public void resetPage() {
+            dismissAlert();
+            session.getElementCache().invalidateAll();
+            loopPage.resetPageState();
+            loopPage.awaitScheduleBuilder();
+        }
+
+        @Override
+        public void reloadScheduleBuilder() {
+            dismissAlert();
+            session.getElementCache().invalidateAll();
+            driver.get(scheduleBuilderUrl);
+            loopPage.resetPageState();
+            loopPage.awaitScheduleBuilder();
+        }
+
+        // The expired session's tabs are closed so the fresh Schedule Builder tab lands where selectTerm expects it
+        @Override
+        public void reauthenticate() throws IOException, InterruptedException {
+            List<String> handles = List.copyOf(driver.getWindowHandles());
+
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+
+            driver.switchTo().window(handles.get(0));
+            driver.manage().deleteAllCookies();
+
+            login();
+            authenticate();
+            navigateToScheduleBuilder();
+            selectTerm();
+            scheduleBuilderUrl = driver.getCurrentUrl();
+            saveSession();
+            resetPage();
+        }
+
+        private void dismissAlert() {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException e) {
+                // Nothing to dismiss
+            }
+        }
     }
+
+    private void reportTransferStatistics() {
+        try {
+            if (loopPage != null) {
+                transferStatistics.sample(driver, TRANSFER_LABEL_SCHEDULE_BUILDER);
+            }
+
+            Properties baseline = new Properties();
+
+            if (userData.getBrowserProfile() == BrowserProfile.DEFAULT) {
+                transferStatistics.saveBaseline(PROFILE_BASELINE_PATH);
+            } else {
+                baseline = TransferStatistics.loadBaseline(PROFILE_BASELINE_PATH);
+            }
+
+            System.out.println(transferStatistics.summary(baseline));
+        } catch (Exception e) {
+            System.err.println("Could not report browser transfer statistics: " + e.getMessage());
+        }
+    }
+    
 }
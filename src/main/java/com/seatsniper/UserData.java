@@ -1,11 +1,20 @@
 package com.seatsniper;
 
+import java.net.URI;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
+import com.seatsniper.browser.BrowserProfile;
+import com.seatsniper.browser.SessionPersistence;
+import com.seatsniper.enrollment.CourseGroup;
+
 public final class UserData {
+    // Without a configured ceiling the polling period may back off to this many times the interval
+    private static final int DEFAULT_MAX_INTERVAL_FACTOR = 4;
+
     private final String driverPath;
     private final String browserPath;
     private final String username;
@@ -14,8 +23,16 @@ public final class UserData {
     private final String authenticationKey;
     private final String courseTerm;
     private final Set<String> courseCodes;
+    private final List<CourseGroup> courseGroups;
     private final int interval;
+    private final int maxInterval;
     private final int duration;
+    private final int probeInterval;
+    private final BrowserProfile browserProfile;
+    private final SessionPersistence sessionPersistence;
+    private final int schedulerLeadTime;
+    private final int metricsPort;
+    private final List<URI> webhookUrls;
     
     public UserData(
             String driverPath,
@@ -25,9 +42,16 @@ public final class UserData {
             String authenticatorName,
             String authenticationKey,
             String courseTerm,
-            Set<String> courseCodes,
+            List<CourseGroup> courseGroups,
             int interval,
-            int duration
+            int maxInterval,
+            int duration,
+            int probeInterval,
+            BrowserProfile browserProfile,
+            SessionPersistence sessionPersistence,
+            int schedulerLeadTime,
+            int metricsPort,
+            List<URI> webhookUrls
     ) {
         this.driverPath = Objects.requireNonNull(driverPath, "Driver path cannot be null");
         this.browserPath = Objects.requireNonNull(browserPath, "Browser path cannot be null");
@@ -36,20 +60,51 @@ public final class UserData {
         this.authenticatorName = Objects.requireNonNull(authenticatorName, "Authenticator name cannot be null");
         this.authenticationKey = Objects.requireNonNull(authenticationKey, "Authentication key cannot be null");
         this.courseTerm = Objects.requireNonNull(courseTerm, "Course term cannot be null");
+        this.browserProfile = Objects.requireNonNull(browserProfile, "Browser profile cannot be null");
+        this.sessionPersistence = Objects.requireNonNull(sessionPersistence, "Session persistence cannot be null");
         
         if (interval <= 0) {
             throw new IllegalArgumentException("Interval must be a positive integer, got: " + interval);
         }
+        if (maxInterval != 0 && maxInterval < interval) {
+            throw new IllegalArgumentException("Max interval must be at least the interval, or 0 for the default, got: " + maxInterval);
+        }
         if (duration < 0) {
             throw new IllegalArgumentException("Max duration must be a positive integer or 0, got: " + duration);
         }
+        if (probeInterval < 0) {
+            throw new IllegalArgumentException("Probe interval must be a positive integer or 0, got: " + probeInterval);
+        }
+        if (schedulerLeadTime < 0) {
+            throw new IllegalArgumentException("Scheduler lead time must be a positive integer or 0, got: " + schedulerLeadTime);
+        }
+        if (metricsPort < 0 || metricsPort > 65535) {
+            throw new IllegalArgumentException("Metrics port must be between 1 and 65535, or 0 to disable, got: " + metricsPort);
+        }
 
         this.interval = interval;
+        this.maxInterval = maxInterval != 0 ? maxInterval : interval * DEFAULT_MAX_INTERVAL_FACTOR;
         this.duration = duration;
+        this.probeInterval = probeInterval;
+        this.schedulerLeadTime = schedulerLeadTime;
+        this.metricsPort = metricsPort;
         
-        this.courseCodes = courseCodes != null 
-                ? Collections.unmodifiableSet(new HashSet<>(courseCodes))
-                : Collections.emptySet();
+        this.courseGroups = courseGroups != null
+                ? List.copyOf(courseGroups)
+                : List.of();
+
+        // Every section still to be settled, in preference order. The enrollment loop stages one section per group at
+        // a time and moves down the group when it comes back full or can't be found
+        Set<String> flattenedCodes = new LinkedHashSet<>();
+
+        for (CourseGroup group : this.courseGroups) {
+            flattenedCodes.addAll(group.getSectionCodes());
+        }
+
+        this.courseCodes = Collections.unmodifiableSet(flattenedCodes);
+        this.webhookUrls = webhookUrls != null
+                ? List.copyOf(webhookUrls)
+                : List.of();
     }
 
     public String getDriverPath() {
@@ -80,6 +135,10 @@ public final class UserData {
         return courseCodes;
     }
 
+    public List<CourseGroup> getCourseGroups() {
+        return courseGroups;
+    }
+
     public String getCourseTerm() {
         return courseTerm;
     }
@@ -88,10 +147,58 @@ public final class UserData {
         return interval;
     }
 
+    public int getMaxInterval() {
+        return maxInterval;
+    }
+
     public int getDuration() {
         return duration;
     }
 
+    public int getProbeInterval() {
+        return probeInterval;
+    }
+
+    public boolean hasSeatProbe() {
+        return probeInterval > 0;
+    }
+
+    public BrowserProfile getBrowserProfile() {
+        return browserProfile;
+    }
+
+    public SessionPersistence getSessionPersistence() {
+        return sessionPersistence;
+    }
+
+    public int getSchedulerLeadTime() {
+        return schedulerLeadTime;
+    }
+
+    public boolean isSchedulerMode() {
+        return schedulerLeadTime > 0;
+    }
+
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    public boolean hasMetricsEndpoint() {
+        return metricsPort > 0;
+    }
+
+    public List<URI> getWebhookUrls() {
+        return webhookUrls;
+    }
+
+    public boolean hasWebhooks() {
+        return !webhookUrls.isEmpty();
+    }
+
+    public UserData withSessionPersistence(SessionPersistence persistence) {
+        return new UserData(driverPath, browserPath, username, password, authenticatorName, authenticationKey, courseTerm, courseGroups, interval, maxInterval, duration, probeInterval, browserProfile, persistence, schedulerLeadTime, metricsPort, webhookUrls);
+    }
+
     public boolean hasCourseCode(String courseCode) {
         return courseCodes.contains(courseCode);
     }
@@ -116,15 +223,22 @@ public final class UserData {
         UserData userData = (UserData) obj;
 
         return interval == userData.interval
+                && maxInterval == userData.maxInterval
                 && duration == userData.duration
+                && probeInterval == userData.probeInterval
+                && schedulerLeadTime == userData.schedulerLeadTime
+                && metricsPort == userData.metricsPort
                 && Objects.equals(driverPath, userData.driverPath)
                 && Objects.equals(browserPath, userData.browserPath)
                 && Objects.equals(username, userData.username)
                 && Objects.equals(password, userData.password)
                 && Objects.equals(authenticatorName, userData.authenticatorName)
                 && Objects.equals(authenticationKey, userData.authenticationKey)
-                && Objects.equals(courseCodes, userData.courseCodes)
-                && Objects.equals(courseTerm, userData.courseTerm);
+                && Objects.equals(courseGroups, userData.courseGroups)
+                && Objects.equals(courseTerm, userData.courseTerm)
+                && Objects.equals(webhookUrls, userData.webhookUrls)
+                && browserProfile == userData.browserProfile
+                && sessionPersistence == userData.sessionPersistence;
     }
 
     @Override
@@ -136,10 +250,17 @@ public final class UserData {
             password,
             authenticatorName,
             authenticationKey, 
-            courseCodes,
+            courseGroups,
             courseTerm,
             interval,
-            duration
+            maxInterval,
+            duration,
+            probeInterval,
+            browserProfile,
+            sessionPersistence,
+            schedulerLeadTime,
+            metricsPort,
+            webhookUrls
         );
     }
 
@@ -152,8 +273,16 @@ public final class UserData {
                 ", authenticatorName='" + authenticatorName + '\'' +
                 ", courseTerm='" + courseTerm + '\'' +
                 ", interval=" + interval +
+                ", maxInterval=" + maxInterval +
                 ", duration=" + duration +
+                ", probeInterval=" + probeInterval +
+                ", browserProfile=" + browserProfile +
+                ", sessionPersistence=" + sessionPersistence +
+                ", schedulerLeadTime=" + schedulerLeadTime +
+                ", metricsPort=" + metricsPort +
+                ", webhookCount=" + webhookUrls.size() +
                 ", courseCodeCount=" + courseCodes.size() +
+                ", courseGroupCount=" + courseGroups.size() +
                 " }";
     }
 }
@@ -0,0 +1,47 @@
+package com.seatsniper.browser;
+
+import java.io.File;
+
+import com.seatsniper.UserData;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+public final class BrowserLauncher {
+    private BrowserLauncher() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    public static ChromeDriver launch(UserData userData) {
+        return launch(userData, null);
+    }
+
+    public static ChromeDriver launch(UserData userData, SessionStore sessionStore) {
+        BrowserProfile browserProfile = userData.getBrowserProfile();
+
+        // A service per browser instead of the global webdriver.chrome.driver property, so several browsers can share a JVM
+        ChromeDriverService driverService = new ChromeDriverService.Builder()
+                .usingDriverExecutable(new File(userData.getDriverPath()))
+                .usingAnyFreePort()
+                .build();
+
+        ChromeOptions options = new ChromeOptions();
+        options.setBinary(userData.getBrowserPath());
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-gpu ");
+        options.addArguments("--no-sandbox");
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        browserProfile.configure(options);
+
+        if (sessionStore != null) {
+            sessionStore.configure(options);
+        }
+
+        ChromeDriver driver = new ChromeDriver(driverService, options);
+        browserProfile.applyNetworkRules(driver);
+
+        return driver;
+    }
+}
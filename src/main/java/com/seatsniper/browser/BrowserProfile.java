@@ -0,0 +1,67 @@
+package com.seatsniper.browser;
+
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+public enum BrowserProfile {
+    DEFAULT,
+    PERFORMANCE;
+
+    private static final String ERROR_INVALID_PROFILE = "Invalid browser profile: %s. Expected: default or performance";
+
+    // Stylesheets are deliberately left alone, visibility checks depend on them
+    private static final List<String> BLOCKED_URL_PATTERNS = List.of(
+        "*.png", "*.jpg", "*.jpeg", "*.gif", "*.svg", "*.ico", "*.webp", "*.bmp",
+        "*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot",
+        "*.mp4", "*.webm", "*.mp3",
+        "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+        "*facebook.net*", "*hotjar.com*", "*nr-data.net*", "*newrelic.com*", "*siteimproveanalytics*"
+    );
+
+    private static final List<String> PERFORMANCE_ARGUMENTS = List.of(
+        "--headless=new",
+        "--window-size=1920,1080",
+        "--blink-settings=imagesEnabled=false",
+        "--disable-dev-shm-usage",
+        "--disable-background-networking",
+        "--disable-component-update",
+        "--disable-default-apps",
+        "--disable-sync",
+        "--mute-audio",
+        "--no-first-run",
+        "--renderer-process-limit=2",
+        "--disable-features=Translate,MediaRouter,OptimizationHints,AutofillServerCommunication"
+    );
+
+    public static BrowserProfile fromString(String value) {
+        for (BrowserProfile profile : values()) {
+            if (profile.name().equalsIgnoreCase(value.trim())) {
+                return profile;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format(ERROR_INVALID_PROFILE, value));
+    }
+
+    public void configure(ChromeOptions options) {
+        if (this == PERFORMANCE) {
+            options.addArguments(PERFORMANCE_ARGUMENTS);
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        } else {
+            options.addArguments("--start-maximized");
+        }
+    }
+
+    // Must run after the session starts since request blocking is configured over the DevTools protocol
+    public void applyNetworkRules(ChromeDriver driver) {
+        if (this != PERFORMANCE) {
+            return;
+        }
+
+        driver.executeCdpCommand("Network.enable", Map.of());
+        driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", BLOCKED_URL_PATTERNS));
+    }
+}
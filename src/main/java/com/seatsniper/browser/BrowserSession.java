@@ -0,0 +1,31 @@
+package com.seatsniper.browser;
+
+import java.util.Objects;
+
+import com.seatsniper.utilities.WaitStatistics;
+
+import org.openqa.selenium.WebDriver;
+
+// Everything a set of page objects shares for one browser. A session is confined to one thread at a time, it may move
+// between threads only through a hand-off that orders the two, such as submitting to an executor or joining a future
+public final class BrowserSession {
+    private final WebDriver driver;
+    private final WaitStatistics waitStatistics = new WaitStatistics();
+    private final ElementCache elementCache = new ElementCache();
+
+    public BrowserSession(WebDriver driver) {
+        this.driver = Objects.requireNonNull(driver, "Driver cannot be null");
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public WaitStatistics getWaitStatistics() {
+        return waitStatistics;
+    }
+
+    public ElementCache getElementCache() {
+        return elementCache;
+    }
+}
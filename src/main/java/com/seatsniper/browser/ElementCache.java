@@ -0,0 +1,80 @@
+package com.seatsniper.browser;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.seatsniper.metrics.MetricsRegistry;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+// Element handles of the current document keyed by locator, callers drop an entry when its handle turns out stale
+public final class ElementCache {
+    private static final String HEADER_TEXT = "----- ELEMENT CACHE -----";
+    private static final String SUMMARY_FORMAT = "hits=%d misses=%d stale=%d hit rate=%.1f%%%n";
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final LongAdder HIT_COUNTER = METRICS.counter("element_cache_hits");
+    private static final LongAdder MISS_COUNTER = METRICS.counter("element_cache_misses");
+    private static final LongAdder STALE_COUNTER = METRICS.counter("element_cache_stale");
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long staleHandles;
+
+    // The finder only runs on a miss, every hit is a findElement round trip saved
+    public WebElement resolve(By locator, Function<By, WebElement> finder) {
+        WebElement element = elements.get(locator);
+
+        if (element != null) {
+            hits++;
+            HIT_COUNTER.increment();
+
+            return element;
+        }
+
+        misses++;
+        MISS_COUNTER.increment();
+
+        element = finder.apply(locator);
+        elements.put(locator, element);
+
+        return element;
+    }
+
+    public void put(By locator, WebElement element) {
+        elements.put(locator, element);
+    }
+
+    public void invalidateStale(By locator) {
+        if (elements.remove(locator) != null) {
+            staleHandles++;
+            STALE_COUNTER.increment();
+        }
+    }
+
+    // Every handle belongs to the old document once the browser navigates
+    public void invalidateAll() {
+        elements.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public String summary() {
+        long lookups = hits + misses;
+        double hitRate = lookups == 0 ? 0 : 100.0 * hits / lookups;
+
+        return "\n" + HEADER_TEXT + "\n\n"
+                + String.format(SUMMARY_FORMAT, hits, misses, staleHandles, hitRate)
+                + "\n" + "-".repeat(HEADER_TEXT.length()) + "\n";
+    }
+}
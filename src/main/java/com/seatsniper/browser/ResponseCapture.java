@@ -0,0 +1,56 @@
+package com.seatsniper.browser;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+// Hands over the body of the first response whose request URL matches, read through the DevTools protocol as it
+// reaches the browser. Requests are only intercepted while the capture is open, so it should wrap just the action
+// that triggers the response
+public final class ResponseCapture implements AutoCloseable {
+    private final NetworkInterceptor interceptor;
+    private final CompletableFuture<String> body = new CompletableFuture<>();
+
+    private ResponseCapture(WebDriver driver, Pattern urlPattern) {
+        Filter filter = next -> request -> {
+            HttpResponse response = next.execute(request);
+
+            if (!body.isDone() && urlPattern.matcher(request.getUri()).find()) {
+                // Decoded with the charset of the Content-Type header, UTF-8 when it names none
+                body.complete(new String(Contents.bytes(response.getContent()), response.getContentEncoding()));
+            }
+
+            return response;
+        };
+
+        this.interceptor = new NetworkInterceptor(driver, filter);
+    }
+
+    // Throws when the browser has no DevTools support for its version, callers fall back to reading the page
+    public static ResponseCapture open(WebDriver driver, Pattern urlPattern) {
+        return new ResponseCapture(driver, urlPattern);
+    }
+
+    // Null when no matching response arrived in time
+    public String await(Duration timeout) throws InterruptedException {
+        try {
+            return body.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        interceptor.close();
+    }
+}
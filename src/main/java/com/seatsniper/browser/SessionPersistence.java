@@ -0,0 +1,19 @@
+package com.seatsniper.browser;
+
+public enum SessionPersistence {
+    NONE,
+    PROFILE,
+    COOKIES;
+
+    private static final String ERROR_INVALID_PERSISTENCE = "Invalid session persistence: %s. Expected: none, profile or cookies";
+
+    public static SessionPersistence fromString(String value) {
+        for (SessionPersistence persistence : values()) {
+            if (persistence.name().equalsIgnoreCase(value.trim())) {
+                return persistence;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format(ERROR_INVALID_PERSISTENCE, value));
+    }
+}
@@ -0,0 +1,133 @@
+package com.seatsniper.browser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.json.Json;
+
+import com.seatsniper.utilities.AtomicFiles;
+
+public final class SessionStore {
+    private static final String SESSION_FILE_NAME = "session.json";
+    private static final String PROFILE_DIRECTORY_NAME = "chrome-profile";
+
+    private static final String KEY_TERM = "term";
+    private static final String KEY_SCHEDULE_BUILDER_URL = "scheduleBuilderUrl";
+    private static final String KEY_APPOINTMENT_TIME = "appointmentTime";
+    private static final String KEY_COOKIES = "cookies";
+
+    // Only the fields accepted by the DevTools CookieParam type are carried over
+    private static final List<String> COOKIE_FIELDS = List.of("name", "value", "domain", "path", "secure", "httpOnly", "sameSite");
+    private static final String COOKIE_EXPIRES = "expires";
+    private static final String COOKIE_SESSION = "session";
+
+    private final SessionPersistence persistence;
+    private final String term;
+    private final Path directory;
+    private final Json json = new Json();
+
+    public SessionStore(SessionPersistence persistence, String term, Path directory) {
+        this.persistence = persistence;
+        this.term = term;
+        this.directory = directory;
+    }
+
+    public boolean isEnabled() {
+        return persistence != SessionPersistence.NONE;
+    }
+
+    public void configure(ChromeOptions options) {
+        if (persistence == SessionPersistence.PROFILE) {
+            options.addArguments("--user-data-dir=" + directory.resolve(PROFILE_DIRECTORY_NAME).toAbsolutePath());
+        }
+    }
+
+    public void save(ChromeDriver driver, String scheduleBuilderUrl, ZonedDateTime appointmentTime) throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+
+        Map<String, Object> session = new HashMap<>();
+
+        session.put(KEY_TERM, term);
+        session.put(KEY_SCHEDULE_BUILDER_URL, scheduleBuilderUrl);
+        session.put(KEY_APPOINTMENT_TIME, appointmentTime.toString());
+
+        // Session cookies are dropped by Chrome on restart even with a persistent profile, so they are kept in both modes
+        session.put(KEY_COOKIES, readCookies(driver));
+
+        // The cookies are live credentials, so only the owner may read them
+        AtomicFiles.replace(directory.resolve(SESSION_FILE_NAME), json.toJson(session).getBytes(StandardCharsets.UTF_8), true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StoredSession load() throws IOException {
+        Path sessionFile = directory.resolve(SESSION_FILE_NAME);
+
+        if (!isEnabled() || !Files.exists(sessionFile)) {
+            return null;
+        }
+
+        Map<String, Object> session = json.toType(Files.readString(sessionFile, StandardCharsets.UTF_8), Json.MAP_TYPE);
+        Object scheduleBuilderUrl = session.get(KEY_SCHEDULE_BUILDER_URL);
+        Object appointmentTime = session.get(KEY_APPOINTMENT_TIME);
+
+        // A session saved for another term would skip the term selection and snipe on the wrong Schedule Builder
+        if (!term.equals(session.get(KEY_TERM)) || scheduleBuilderUrl == null || appointmentTime == null) {
+            return null;
+        }
+
+        return new StoredSession(
+            scheduleBuilderUrl.toString(),
+            ZonedDateTime.parse(appointmentTime.toString()),
+            (List<Map<String, Object>>) session.get(KEY_COOKIES)
+        );
+    }
+
+    public void restoreCookies(ChromeDriver driver, StoredSession session) {
+        if (session.getCookies().isEmpty()) {
+            return;
+        }
+
+        driver.executeCdpCommand("Network.enable", Map.of());
+        driver.executeCdpCommand("Network.setCookies", Map.of(KEY_COOKIES, session.getCookies()));
+    }
+
+    public void clear() throws IOException {
+        Files.deleteIfExists(directory.resolve(SESSION_FILE_NAME));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> readCookies(ChromeDriver driver) {
+        Map<String, Object> result = driver.executeCdpCommand("Network.getAllCookies", Map.of());
+        List<Map<String, Object>> cookies = (List<Map<String, Object>>) result.get(KEY_COOKIES);
+        List<Map<String, Object>> cookieParams = new ArrayList<>(cookies.size());
+
+        for (Map<String, Object> cookie : cookies) {
+            Map<String, Object> cookieParam = new HashMap<>();
+
+            for (String field : COOKIE_FIELDS) {
+                if (cookie.containsKey(field)) {
+                    cookieParam.put(field, cookie.get(field));
+                }
+            }
+
+            if (!Boolean.TRUE.equals(cookie.get(COOKIE_SESSION))) {
+                cookieParam.put(COOKIE_EXPIRES, cookie.get(COOKIE_EXPIRES));
+            }
+
+            cookieParams.add(cookieParam);
+        }
+
+        return cookieParams;
+    }
+}
@@ -0,0 +1,29 @@
+package com.seatsniper.browser;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+public final class StoredSession {
+    private final String scheduleBuilderUrl;
+    private final ZonedDateTime appointmentTime;
+    private final List<Map<String, Object>> cookies;
+
+    public StoredSession(String scheduleBuilderUrl, ZonedDateTime appointmentTime, List<Map<String, Object>> cookies) {
+        this.scheduleBuilderUrl = scheduleBuilderUrl;
+        this.appointmentTime = appointmentTime;
+        this.cookies = cookies != null ? List.copyOf(cookies) : List.of();
+    }
+
+    public String getScheduleBuilderUrl() {
+        return scheduleBuilderUrl;
+    }
+
+    public ZonedDateTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public List<Map<String, Object>> getCookies() {
+        return cookies;
+    }
+}
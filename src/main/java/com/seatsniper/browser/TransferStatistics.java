@@ -0,0 +1,120 @@
+package com.seatsniper.browser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+public final class TransferStatistics {
+    private static final String HEADER_TEXT = "----- BROWSER TRANSFER STATISTICS -----";
+    private static final String ROW_FORMAT = "%-20s samples=%-4d avg transfer=%-8dKB avg load=%dms";
+    private static final String SAVINGS_FORMAT = " | saved vs default: %dKB, %dms";
+    private static final String BASELINE_COMMENT = "Average page transfer size and load time recorded with the default browser profile";
+    private static final String BYTES_SUFFIX = ".bytes";
+    private static final String LOAD_SUFFIX = ".loadMillis";
+
+    // Cross-origin resources without Timing-Allow-Origin report a transfer size of 0, so totals are a lower bound. Pages
+    // that waited for network idle keep a running total past the 250 entry resource timing buffer, others read the buffer
+    private static final String TRANSFER_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];" +
+            "var bytes = nav ? nav.transferSize : 0;" +
+            "if (window.__seatsniperResources) {" +
+            "  bytes += window.__seatsniperResources.bytes;" +
+            "} else {" +
+            "  performance.getEntriesByType('resource').forEach(function (entry) { bytes += entry.transferSize; });" +
+            "}" +
+            "var load = nav ? (nav.loadEventEnd > 0 ? nav.loadEventEnd : nav.domContentLoadedEventEnd) : 0;" +
+            "return [Math.round(bytes), Math.round(load)];";
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public synchronized void sample(WebDriver driver, String label) {
+        List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(TRANSFER_SCRIPT);
+
+        entries.computeIfAbsent(label, key -> new Entry())
+                .add(((Number) result.get(0)).longValue(), ((Number) result.get(1)).longValue());
+    }
+
+    public synchronized void saveBaseline(Path baselinePath) throws IOException {
+        Properties baseline = new Properties();
+
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            baseline.setProperty(entry.getKey() + BYTES_SUFFIX, String.valueOf(entry.getValue().averageBytes()));
+            baseline.setProperty(entry.getKey() + LOAD_SUFFIX, String.valueOf(entry.getValue().averageLoadMillis()));
+        }
+
+        Files.createDirectories(baselinePath.toAbsolutePath().getParent());
+
+        try (OutputStream output = Files.newOutputStream(baselinePath)) {
+            baseline.store(output, BASELINE_COMMENT);
+        }
+    }
+
+    public static Properties loadBaseline(Path baselinePath) throws IOException {
+        Properties baseline = new Properties();
+
+        if (Files.exists(baselinePath)) {
+            try (InputStream input = Files.newInputStream(baselinePath)) {
+                baseline.load(input);
+            }
+        }
+
+        return baseline;
+    }
+
+    public synchronized String summary(Properties baseline) {
+        StringBuilder summary = new StringBuilder();
+
+        summary.append("\n").append(HEADER_TEXT).append("\n\n");
+
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            String label = entry.getKey();
+            Entry stats = entry.getValue();
+
+            summary.append(String.format(ROW_FORMAT, label, stats.count, stats.averageBytes() / 1024, stats.averageLoadMillis()));
+
+            String baselineBytes = baseline.getProperty(label + BYTES_SUFFIX);
+            String baselineLoad = baseline.getProperty(label + LOAD_SUFFIX);
+
+            if (baselineBytes != null && baselineLoad != null) {
+                summary.append(String.format(SAVINGS_FORMAT,
+                        (Long.parseLong(baselineBytes) - stats.averageBytes()) / 1024,
+                        Long.parseLong(baselineLoad) - stats.averageLoadMillis()));
+            }
+
+            summary.append("\n");
+        }
+
+        summary.append("\n").append("-".repeat(HEADER_TEXT.length())).append("\n");
+
+        return summary.toString();
+    }
+
+    private static final class Entry {
+        private long count;
+        private long totalBytes;
+        private long totalLoadMillis;
+
+        private void add(long bytes, long loadMillis) {
+            count++;
+            totalBytes += bytes;
+            totalLoadMillis += loadMillis;
+        }
+
+        private long averageBytes() {
+            return totalBytes / count;
+        }
+
+        private long averageLoadMillis() {
+            return totalLoadMillis / count;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.seatsniper.daemon;
+
+public enum AdmissionResult {
+    ADMITTED,
+    QUEUED,
+    REJECTED
+}
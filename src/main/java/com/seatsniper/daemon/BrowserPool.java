@@ -0,0 +1,118 @@
+package com.seatsniper.daemon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.chrome.ChromeDriver;
+
+public final class BrowserPool implements AutoCloseable {
+    private static final String ERROR_POOL_EXHAUSTED = "No browser available, the pool is limited to %d instances";
+
+    private final int capacity;
+    private final List<PooledBrowser> idleBrowsers = new ArrayList<>();
+    private final List<PooledBrowser> allBrowsers = new ArrayList<>();
+    private int nextBrowserId;
+    private int reservedSlots;
+
+    public BrowserPool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pool capacity must be a positive integer, got: " + capacity);
+        }
+
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Prefers the browser the job used last, since its session and cart are still loaded there
+    public PooledBrowser lease(String jobId, Supplier<ChromeDriver> launcher) {
+        PooledBrowser browser;
+
+        synchronized (this) {
+            browser = takeIdleBrowser(jobId);
+
+            if (browser == null) {
+                if (allBrowsers.size() + reservedSlots >= capacity) {
+                    throw new IllegalStateException(String.format(ERROR_POOL_EXHAUSTED, capacity));
+                }
+
+                reservedSlots++;
+            }
+        }
+
+        if (browser != null) {
+            browser.assignTo(jobId);
+
+            return browser;
+        }
+
+        try {
+            browser = new PooledBrowser(nextId(), launcher.get());
+            browser.assignTo(jobId);
+
+            synchronized (this) {
+                allBrowsers.add(browser);
+            }
+
+            return browser;
+        } finally {
+            synchronized (this) {
+                reservedSlots--;
+            }
+        }
+    }
+
+    public synchronized void release(PooledBrowser browser) {
+        idleBrowsers.add(browser);
+    }
+
+    public void discard(PooledBrowser browser) {
+        synchronized (this) {
+            allBrowsers.remove(browser);
+            idleBrowsers.remove(browser);
+        }
+
+        browser.quit();
+    }
+
+    public synchronized int getOpenBrowserCount() {
+        return allBrowsers.size();
+    }
+
+    @Override
+    public void close() {
+        List<PooledBrowser> browsers;
+
+        synchronized (this) {
+            browsers = new ArrayList<>(allBrowsers);
+            allBrowsers.clear();
+            idleBrowsers.clear();
+        }
+
+        for (PooledBrowser browser : browsers) {
+            browser.quit();
+        }
+    }
+
+    private PooledBrowser takeIdleBrowser(String jobId) {
+        for (int i = 0; i < idleBrowsers.size(); i++) {
+            if (jobId.equals(idleBrowsers.get(i).getOwnerJobId())) {
+                return idleBrowsers.remove(i);
+            }
+        }
+
+        // Reuse an idle browser only once the pool is full, a fresh one avoids wiping another job's session
+        if (!idleBrowsers.isEmpty() && allBrowsers.size() + reservedSlots >= capacity) {
+            return idleBrowsers.remove(0);
+        }
+
+        return null;
+    }
+
+    private synchronized int nextId() {
+        return ++nextBrowserId;
+    }
+}
@@ -0,0 +1,84 @@
+package com.seatsniper.daemon;
+
+import java.time.Instant;
+
+import com.seatsniper.Sniper;
+
+public final class EnrollmentJob {
+    private final String id;
+    private final int priority;
+    private final Sniper sniper;
+    private final JobMetrics metrics = new JobMetrics();
+
+    private volatile JobState state = JobState.QUEUED;
+    private Instant eligibleAt;
+    private Instant firstCycleAt;
+    private PooledBrowser lastBrowser;
+    private int consecutiveFailures;
+
+    public EnrollmentJob(String id, int priority, Sniper sniper) {
+        this.id = id;
+        this.priority = priority;
+        this.sniper = sniper;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public Sniper getSniper() {
+        return sniper;
+    }
+
+    public JobMetrics getMetrics() {
+        return metrics;
+    }
+
+    public JobState getState() {
+        return state;
+    }
+
+    void setState(JobState state) {
+        this.state = state;
+    }
+
+    Instant getEligibleAt() {
+        return eligibleAt;
+    }
+
+    void setEligibleAt(Instant eligibleAt) {
+        this.eligibleAt = eligibleAt;
+    }
+
+    Instant getFirstCycleAt() {
+        return firstCycleAt;
+    }
+
+    void markFirstCycle(Instant now) {
+        if (firstCycleAt == null) {
+            firstCycleAt = now;
+        }
+    }
+
+    PooledBrowser getLastBrowser() {
+        return lastBrowser;
+    }
+
+    void setLastBrowser(PooledBrowser lastBrowser) {
+        this.lastBrowser = lastBrowser;
+    }
+
+    int recordFailure() {
+        metrics.recordFailure();
+
+        return ++consecutiveFailures;
+    }
+
+    void resetFailures() {
+        consecutiveFailures = 0;
+    }
+}
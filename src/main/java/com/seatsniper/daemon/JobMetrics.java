@@ -0,0 +1,47 @@
+package com.seatsniper.daemon;
+
+import java.util.concurrent.TimeUnit;
+
+public final class JobMetrics {
+    private static final String DESCRIPTION_FORMAT = "cycles=%d failures=%d queue wait avg=%dms max=%dms | cycle avg=%dms max=%dms";
+
+    private long queueWaits;
+    private long totalQueueWaitNanos;
+    private long maxQueueWaitNanos;
+    private long cycles;
+    private long totalCycleNanos;
+    private long maxCycleNanos;
+    private long failures;
+
+    public synchronized void recordQueueWait(long nanos) {
+        long clamped = Math.max(0, nanos);
+
+        queueWaits++;
+        totalQueueWaitNanos += clamped;
+        maxQueueWaitNanos = Math.max(maxQueueWaitNanos, clamped);
+    }
+
+    public synchronized void recordCycle(long nanos) {
+        cycles++;
+        totalCycleNanos += nanos;
+        maxCycleNanos = Math.max(maxCycleNanos, nanos);
+    }
+
+    public synchronized void recordFailure() {
+        failures++;
+    }
+
+    public synchronized String describe() {
+        return String.format(DESCRIPTION_FORMAT,
+                cycles,
+                failures,
+                toMillis(queueWaits == 0 ? 0 : totalQueueWaitNanos / queueWaits),
+                toMillis(maxQueueWaitNanos),
+                toMillis(cycles == 0 ? 0 : totalCycleNanos / cycles),
+                toMillis(maxCycleNanos));
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,76 @@
+package com.seatsniper.daemon;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Picks the eligible job with the best priority, aged by how long it has been waiting so low priority jobs are never starved
+final class JobScheduler {
+    private static final Duration AGING_STEP = Duration.ofSeconds(30);
+
+    private final List<EnrollmentJob> pendingJobs = new ArrayList<>();
+    private boolean shutdown;
+
+    synchronized void enqueue(EnrollmentJob job, Instant eligibleAt) {
+        job.setEligibleAt(eligibleAt);
+        job.setState(JobState.QUEUED);
+        pendingJobs.add(job);
+
+        notifyAll();
+    }
+
+    // Blocks until a job becomes eligible, returns null once the scheduler has been shut down
+    synchronized EnrollmentJob takeNext() throws InterruptedException {
+        while (!shutdown) {
+            Instant now = Instant.now();
+            EnrollmentJob bestJob = null;
+            long bestScore = Long.MIN_VALUE;
+            Instant earliestEligible = null;
+
+            for (EnrollmentJob job : pendingJobs) {
+                Instant eligibleAt = job.getEligibleAt();
+
+                if (eligibleAt.isAfter(now)) {
+                    if (earliestEligible == null || eligibleAt.isBefore(earliestEligible)) {
+                        earliestEligible = eligibleAt;
+                    }
+
+                    continue;
+                }
+
+                long score = job.getPriority() + Duration.between(eligibleAt, now).dividedBy(AGING_STEP);
+
+                if (bestJob == null || score > bestScore || (score == bestScore && eligibleAt.isBefore(bestJob.getEligibleAt()))) {
+                    bestJob = job;
+                    bestScore = score;
+                }
+            }
+
+            if (bestJob != null) {
+                pendingJobs.remove(bestJob);
+                bestJob.setState(JobState.RUNNING);
+
+                return bestJob;
+            }
+
+            if (earliestEligible == null) {
+                wait();
+            } else {
+                wait(Math.max(1, Duration.between(now, earliestEligible).toMillis()));
+            }
+        }
+
+        return null;
+    }
+
+    synchronized int getPendingCount() {
+        return pendingJobs.size();
+    }
+
+    synchronized void shutdown() {
+        shutdown = true;
+
+        notifyAll();
+    }
+}
@@ -0,0 +1,13 @@
+package com.seatsniper.daemon;
+
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    FINISHED,
+    FAILED;
+
+    // Finished and failed jobs keep their status line but no longer take up a job slot
+    public boolean isTerminal() {
+        return this == FINISHED || this == FAILED;
+    }
+}
@@ -0,0 +1,121 @@
+package com.seatsniper.daemon;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+public final class PooledBrowser {
+    private static final String KEY_COOKIES = "cookies";
+    private static final String KEY_DOMAIN = "domain";
+    private static final List<String> WEB_SCHEMES = List.of("https", "http");
+
+    private final int id;
+    private final ChromeDriver driver;
+    private String ownerJobId;
+    private boolean reassigned;
+
+    PooledBrowser(int id, ChromeDriver driver) {
+        this.id = id;
+        this.driver = driver;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public ChromeDriver getDriver() {
+        return driver;
+    }
+
+    String getOwnerJobId() {
+        return ownerJobId;
+    }
+
+    // True when the last lease handed the browser to a different job, whose session then has to be rebuilt
+    boolean wasReassigned() {
+        return reassigned;
+    }
+
+    // Wipes the previous student's tabs, cookies, storage and cache before the browser is handed to another job
+    void assignTo(String jobId) {
+        reassigned = !jobId.equals(ownerJobId);
+
+        if (ownerJobId != null && reassigned) {
+            clearPreviousOwner();
+        }
+
+        ownerJobId = jobId;
+    }
+
+    private void clearPreviousOwner() {
+        Set<String> origins = readCookieOrigins();
+        List<String> oldHandles = List.copyOf(driver.getWindowHandles());
+
+        // Session storage lives with the tab, so the old tabs are closed behind a fresh blank one
+        driver.switchTo().newWindow(WindowType.TAB);
+        String freshHandle = driver.getWindowHandle();
+
+        for (String handle : oldHandles) {
+            driver.switchTo().window(handle);
+            addOrigin(origins, driver.getCurrentUrl());
+            driver.close();
+        }
+
+        driver.switchTo().window(freshHandle);
+
+        // Local storage, IndexedDB, service workers and cache storage are kept per origin
+        for (String origin : origins) {
+            driver.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+        }
+
+        driver.executeCdpCommand("Network.clearBrowserCache", Map.of());
+        driver.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+    }
+
+    // Sites the previous owner only visited in tabs that are already closed are still known from their cookies,
+    // cookies don't record a port so those are the sites' default ones
+    @SuppressWarnings("unchecked")
+    private Set<String> readCookieOrigins() {
+        Map<String, Object> result = driver.executeCdpCommand("Network.getAllCookies", Map.of());
+        Set<String> origins = new LinkedHashSet<>();
+
+        for (Map<String, Object> cookie : (List<Map<String, Object>>) result.get(KEY_COOKIES)) {
+            String host = String.valueOf(cookie.get(KEY_DOMAIN));
+
+            if (host.startsWith(".")) {
+                host = host.substring(1);
+            }
+
+            for (String scheme : WEB_SCHEMES) {
+                origins.add(scheme + "://" + host);
+            }
+        }
+
+        return origins;
+    }
+
+    private static void addOrigin(Set<String> origins, String url) {
+        try {
+            URI uri = URI.create(url);
+
+            if (WEB_SCHEMES.contains(uri.getScheme()) && uri.getHost() != null) {
+                origins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() >= 0 ? ":" + uri.getPort() : ""));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a web page, there is no origin to clear
+        }
+    }
+
+    void quit() {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            // The browser may already be gone, nothing else to release
+        }
+    }
+}
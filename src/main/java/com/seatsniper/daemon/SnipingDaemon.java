@@ -0,0 +1,365 @@
+package com.seatsniper.daemon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.seatsniper.Sniper;
+import com.seatsniper.UserData;
+import com.seatsniper.browser.BrowserLauncher;
+import com.seatsniper.browser.SessionPersistence;
+import com.seatsniper.metrics.MetricsEndpoint;
+import com.seatsniper.utilities.ConfigurationLoader;
+
+// Runs many students' enrollment loops on a bounded pool of browsers, one cycle per lease so no job holds a browser while cooling down
+public final class SnipingDaemon {
+    private static final String JOB_FILE_GLOB = "*.properties";
+    private static final String PRIORITY_KEY = "jobPriority";
+    private static final int DEFAULT_PRIORITY = 0;
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+    private static final Duration FAILURE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration WINDOW_OPEN_MARGIN = Duration.ofMinutes(1);
+    private static final Duration APPOINTMENT_WINDOW = Duration.ofHours(24);
+    private static final Duration DIRECTORY_SCAN_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration STATUS_REPORT_INTERVAL = Duration.ofMinutes(1);
+    private static final String STATUS_HEADER = "\n--- Daemon status (%d jobs, %d browsers open, %d queued) ---";
+    private static final String STATUS_FOOTER = "------------------------------------------";
+
+    private static final String ERROR_JOB_LOAD = "Could not load job %s: %s";
+    private static final String ERROR_JOB_CYCLE = "Job %s failed a cycle (%d in a row): %s";
+    private static final String MESSAGE_JOB_ADMISSION = "Job %s (priority %d): %s";
+    private static final String MESSAGE_JOB_WAITING = "Job %s: enrollment window opens at %s, parking the job until then.";
+    private static final String MESSAGE_JOB_FINISHED = "Job %s finished: %s";
+
+    private final Path jobsDirectory;
+    private final int maxJobs;
+    private final int metricsPort;
+    private final BrowserPool browserPool;
+    private final JobScheduler scheduler = new JobScheduler();
+    private final Map<String, EnrollmentJob> jobs = new ConcurrentHashMap<>();
+    // Last modified time of each job file when it was loaded, an edited file is loaded again once its job has ended
+    private final Map<String, FileTime> loadedJobFiles = new ConcurrentHashMap<>();
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+    private final ExecutorService workers;
+    private final ScheduledExecutorService maintenance = Executors.newSingleThreadScheduledExecutor();
+    private MetricsEndpoint metricsEndpoint;
+
+    // A metrics port of 0 leaves the Prometheus endpoint off, the MXBeans are published either way
+    public SnipingDaemon(Path jobsDirectory, int poolSize, int maxJobs, int metricsPort) {
+        if (maxJobs <= 0) {
+            throw new IllegalArgumentException("Max jobs must be a positive integer, got: " + maxJobs);
+        }
+
+        this.jobsDirectory = jobsDirectory;
+        this.maxJobs = maxJobs;
+        this.metricsPort = metricsPort;
+        this.browserPool = new BrowserPool(poolSize);
+        this.workers = Executors.newFixedThreadPool(poolSize);
+    }
+
+    // ADMITTED jobs can start right away, QUEUED ones wait for a browser, REJECTED ones are over the job limit or
+    // still running under the same id. A job that ended is replaced by the new submission
+    public AdmissionResult submit(String jobId, UserData userData, int priority) {
+        EnrollmentJob previous = jobs.get(jobId);
+
+        if ((previous != null && !previous.getState().isTerminal()) || countActiveJobs() >= maxJobs) {
+            return AdmissionResult.REJECTED;
+        }
+
+        // Cookies keep the session portable between pooled browsers, a shared profile directory is not
+        Sniper sniper = new Sniper(userData.withSessionPersistence(SessionPersistence.COOKIES));
+        EnrollmentJob job = new EnrollmentJob(jobId, priority, sniper);
+        boolean added = previous == null ? jobs.putIfAbsent(jobId, job) == null : jobs.replace(jobId, previous, job);
+
+        if (!added) {
+            return AdmissionResult.REJECTED;
+        }
+
+        boolean capacityAvailable = busyWorkers.get() + scheduler.getPendingCount() < browserPool.getCapacity();
+
+        scheduler.enqueue(job, Instant.now());
+
+        return capacityAvailable ? AdmissionResult.ADMITTED : AdmissionResult.QUEUED;
+    }
+
+    // Blocks until the daemon is interrupted
+    public void run() throws IOException, InterruptedException {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+
+        if (metricsPort > 0) {
+            metricsEndpoint = MetricsEndpoint.start(metricsPort);
+        }
+
+        maintenance.scheduleWithFixedDelay(this::scanJobsDirectory, 0, DIRECTORY_SCAN_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(() -> System.out.println(statusReport()), STATUS_REPORT_INTERVAL.toMillis(), STATUS_REPORT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < browserPool.getCapacity(); i++) {
+            workers.submit(this::workerLoop);
+        }
+
+        try {
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } finally {
+            shutdown();
+        }
+    }
+
+    public synchronized void shutdown() {
+        if (metricsEndpoint != null) {
+            metricsEndpoint.close();
+            metricsEndpoint = null;
+        }
+
+        scheduler.shutdown();
+        maintenance.shutdownNow();
+        workers.shutdownNow();
+        browserPool.close();
+
+        for (EnrollmentJob job : jobs.values()) {
+            job.getSniper().closeListeners();
+        }
+    }
+
+    EnrollmentJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    public String statusReport() {
+        List<EnrollmentJob> snapshot = new ArrayList<>(jobs.values());
+        StringBuilder report = new StringBuilder(String.format(STATUS_HEADER, snapshot.size(), browserPool.getOpenBrowserCount(), scheduler.getPendingCount()));
+
+        snapshot.sort((first, second) -> first.getId().compareTo(second.getId()));
+
+        for (EnrollmentJob job : snapshot) {
+            report.append(String.format("%n%-20s %-9s p%-3d %s", job.getId(), job.getState(), job.getPriority(), job.getMetrics().describe()));
+        }
+
+        return report.append('\n').append(STATUS_FOOTER).toString();
+    }
+
+    private int countActiveJobs() {
+        int activeJobs = 0;
+
+        for (EnrollmentJob job : jobs.values()) {
+            if (!job.getState().isTerminal()) {
+                activeJobs++;
+            }
+        }
+
+        return activeJobs;
+    }
+
+    private void workerLoop() {
+        try {
+            EnrollmentJob job;
+
+            while ((job = scheduler.takeNext()) != null) {
+                busyWorkers.incrementAndGet();
+
+                try {
+                    runSlice(job);
+                } finally {
+                    busyWorkers.decrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runSlice(EnrollmentJob job) throws InterruptedException {
+        Sniper sniper = job.getSniper();
+        UserData userData = sniper.getUserData();
+
+        job.getMetrics().recordQueueWait(Duration.between(job.getEligibleAt(), Instant.now()).toNanos());
+
+        PooledBrowser browser;
+
+        try {
+            browser = browserPool.lease(job.getId(), () -> BrowserLauncher.launch(userData));
+        } catch (RuntimeException e) {
+            handleFailure(job, e);
+
+            return;
+        }
+
+        boolean browserHealthy = true;
+
+        try {
+            // A job moved onto another browser has to bring its session along before it can cycle
+            if (job.getLastBrowser() != browser || browser.wasReassigned()) {
+                sniper.attachBrowser(browser.getDriver());
+                job.setLastBrowser(browser);
+                prepareSession(sniper);
+            }
+
+            if (!sniper.isEnrollmentLoopInitialized()) {
+                sniper.initializeEnrollmentLoop();
+            }
+
+            Instant cycleStart = Instant.now();
+            long startNanos = System.nanoTime();
+
+            job.markFirstCycle(cycleStart);
+
+            boolean finished = sniper.runEnrollmentCycle();
+
+            job.getMetrics().recordCycle(System.nanoTime() - startNanos);
+            job.resetFailures();
+
+            if (finished) {
+                finish(job, JobState.FINISHED, "every course has been settled");
+            } else if (userData.getDuration() > 0 && Duration.between(job.getFirstCycleAt(), Instant.now()).getSeconds() > userData.getDuration()) {
+                finish(job, JobState.FINISHED, "max time exceeded");
+            } else {
+                scheduler.enqueue(job, Instant.now().plus(sniper.nextCycleDelay()));
+            }
+        } catch (InterruptedException e) {
+            if (Thread.currentThread().isInterrupted() || !parkUntilWindow(job)) {
+                throw e;
+            }
+        } catch (Exception e) {
+            browserHealthy = false;
+            job.setLastBrowser(null);
+            handleFailure(job, e);
+        } finally {
+            if (browserHealthy) {
+                browserPool.release(browser);
+            } else {
+                browserPool.discard(browser);
+            }
+        }
+    }
+
+    private void prepareSession(Sniper sniper) throws IOException, InterruptedException {
+        if (!sniper.restoreSession()) {
+            sniper.login();
+            sniper.authenticate();
+            sniper.determineEligibility();
+            sniper.navigateToScheduleBuilder();
+            sniper.selectTerm();
+            sniper.saveSession();
+        }
+    }
+
+    // Sniper rejects appointments more than 24 hours out, the job sleeps in the queue until the window opens
+    private boolean parkUntilWindow(EnrollmentJob job) {
+        ZonedDateTime appointmentTime = job.getSniper().getAppointmentTime();
+
+        if (appointmentTime == null) {
+            return false;
+        }
+
+        Instant windowStart = appointmentTime.toInstant().minus(APPOINTMENT_WINDOW).plus(WINDOW_OPEN_MARGIN);
+
+        if (!windowStart.isAfter(Instant.now())) {
+            return false;
+        }
+
+        System.out.println(String.format(MESSAGE_JOB_WAITING, job.getId(), appointmentTime));
+
+        job.setLastBrowser(null);
+        scheduler.enqueue(job, windowStart);
+
+        return true;
+    }
+
+    private void handleFailure(EnrollmentJob job, Exception e) {
+        int failures = job.recordFailure();
+
+        System.err.println(String.format(ERROR_JOB_CYCLE, job.getId(), failures, e.getMessage()));
+
+        if (failures >= MAX_CONSECUTIVE_FAILURES) {
+            finish(job, JobState.FAILED, "too many consecutive failures");
+        } else {
+            scheduler.enqueue(job, Instant.now().plus(FAILURE_BACKOFF.multipliedBy(failures)));
+        }
+    }
+
+    private void finish(EnrollmentJob job, JobState state, String reason) {
+        job.setState(state);
+        job.getSniper().closeListeners();
+
+        System.out.println(String.format(MESSAGE_JOB_FINISHED, job.getId(), reason));
+    }
+
+    private void scanJobsDirectory() {
+        try (DirectoryStream<Path> jobFiles = Files.newDirectoryStream(jobsDirectory, JOB_FILE_GLOB)) {
+            for (Path jobFile : jobFiles) {
+                String jobId = toJobId(jobFile);
+                EnrollmentJob job = jobs.get(jobId);
+
+                if (job == null || (job.getState().isTerminal() && isEditedSinceLoad(jobId, jobFile))) {
+                    loadJob(jobId, jobFile);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println(String.format(ERROR_JOB_LOAD, jobsDirectory, e.getMessage()));
+        }
+    }
+
+    private boolean isEditedSinceLoad(String jobId, Path jobFile) throws IOException {
+        FileTime loadedAt = loadedJobFiles.get(jobId);
+
+        return loadedAt == null || Files.getLastModifiedTime(jobFile).compareTo(loadedAt) > 0;
+    }
+
+    private void loadJob(String jobId, Path jobFile) {
+        try {
+            FileTime modifiedAt = Files.getLastModifiedTime(jobFile);
+            UserData userData = ConfigurationLoader.loadData(jobFile);
+            int priority = readPriority(jobFile);
+            AdmissionResult result = submit(jobId, userData, priority);
+
+            if (result != AdmissionResult.REJECTED) {
+                loadedJobFiles.put(jobId, modifiedAt);
+            }
+
+            System.out.println(String.format(MESSAGE_JOB_ADMISSION, jobId, priority, result));
+        } catch (Exception e) {
+            System.err.println(String.format(ERROR_JOB_LOAD, jobFile, e.getMessage()));
+        }
+    }
+
+    private static int readPriority(Path jobFile) throws IOException {
+        Properties properties = new Properties();
+
+        try (InputStream input = Files.newInputStream(jobFile)) {
+            properties.load(input);
+        }
+
+        String value = properties.getProperty(PRIORITY_KEY, "").trim();
+
+        if (value.isEmpty()) {
+            return DEFAULT_PRIORITY;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Job priority must be an integer, got: " + value, e);
+        }
+    }
+
+    private static String toJobId(Path jobFile) {
+        String fileName = jobFile.getFileName().toString();
+
+        return fileName.substring(0, fileName.length() - ".properties".length());
+    }
+}
@@ -0,0 +1,132 @@
+package com.seatsniper.enrollment;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.json.Json;
+
+import com.seatsniper.utilities.AtomicFiles;
+
+// Keeps one checkpoint per student, replaced atomically so a crash mid-write leaves the previous one intact
+public final class CheckpointStore {
+    private static final String CHECKPOINT_FILE_NAME = "checkpoint.json";
+
+    private static final String KEY_FINGERPRINT = "fingerprint";
+    private static final String KEY_CYCLE_COUNT = "cycleCount";
+    private static final String KEY_REMAINING = "remaining";
+    private static final String KEY_RESULTS = "results";
+    private static final String KEY_COURSE_NAMES = "courseNames";
+    private static final String KEY_PENDING_CART_REMOVALS = "pendingCartRemovals";
+    private static final String KEY_STATUS = "status";
+    private static final String KEY_WAITLIST_POSITION = "waitlistPosition";
+    private static final String KEY_REASON = "reason";
+
+    private final Path directory;
+    private final Json json = new Json();
+
+    public CheckpointStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public void save(LoopCheckpoint checkpoint) throws IOException {
+        Map<String, Object> results = new LinkedHashMap<>();
+
+        checkpoint.getResults().forEach((code, result) -> results.put(code, toMap(result)));
+
+        Map<String, Object> content = new LinkedHashMap<>();
+
+        content.put(KEY_FINGERPRINT, checkpoint.getFingerprint());
+        content.put(KEY_CYCLE_COUNT, checkpoint.getCycleCount());
+        content.put(KEY_REMAINING, checkpoint.getRemainingCodes());
+        content.put(KEY_RESULTS, results);
+        content.put(KEY_COURSE_NAMES, checkpoint.getCourseNames());
+        content.put(KEY_PENDING_CART_REMOVALS, checkpoint.getPendingCartRemovals());
+
+        AtomicFiles.replace(directory.resolve(CHECKPOINT_FILE_NAME), json.toJson(content).getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    // Null when there is no checkpoint or it was taken for a different term or set of sections
+    public LoopCheckpoint load(String fingerprint) throws IOException {
+        Path checkpointFile = directory.resolve(CHECKPOINT_FILE_NAME);
+
+        if (!Files.exists(checkpointFile)) {
+            return null;
+        }
+
+        // A checkpoint cut short or edited by hand is reported instead of resuming from garbage
+        try {
+            Map<String, Object> content = json.toType(Files.readString(checkpointFile, StandardCharsets.UTF_8), Json.MAP_TYPE);
+
+            if (content == null || !fingerprint.equals(content.get(KEY_FINGERPRINT))) {
+                return null;
+            }
+
+            return parse(fingerprint, content);
+        } catch (RuntimeException e) {
+            throw new IOException("Checkpoint is unreadable: " + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LoopCheckpoint parse(String fingerprint, Map<String, Object> content) {
+        Map<String, EnrollmentResult> results = new LinkedHashMap<>();
+        Map<String, Object> storedResults = (Map<String, Object>) content.getOrDefault(KEY_RESULTS, Map.of());
+
+        storedResults.forEach((code, result) -> results.put(code, toResult((Map<String, Object>) result)));
+
+        return new LoopCheckpoint(
+            fingerprint,
+            ((Number) content.getOrDefault(KEY_CYCLE_COUNT, 0)).intValue(),
+            toStringList(content.get(KEY_REMAINING)),
+            results,
+            (Map<String, String>) content.getOrDefault(KEY_COURSE_NAMES, Map.of()),
+            toStringList(content.get(KEY_PENDING_CART_REMOVALS))
+        );
+    }
+
+    private static Map<String, Object> toMap(EnrollmentResult result) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+
+        fields.put(KEY_STATUS, result.getStatus().name());
+
+        if (result.hasWaitlistPosition()) {
+            fields.put(KEY_WAITLIST_POSITION, result.getWaitlistPosition());
+        }
+        if (!result.getFailureReason().isEmpty()) {
+            fields.put(KEY_REASON, result.getFailureReason());
+        }
+
+        return fields;
+    }
+
+    private static EnrollmentResult toResult(Map<String, Object> fields) {
+        EnrollmentStatus status = EnrollmentStatus.valueOf(fields.get(KEY_STATUS).toString());
+
+        return switch (status) {
+            case ENROLLED -> EnrollmentResult.enrolled();
+            case WAITLISTED -> EnrollmentResult.waitlisted(((Number) fields.getOrDefault(KEY_WAITLIST_POSITION, EnrollmentResult.NO_WAITLIST_POSITION)).intValue());
+            case FAILED -> EnrollmentResult.failed(String.valueOf(fields.getOrDefault(KEY_REASON, "")));
+            case UNAVAILABLE -> EnrollmentResult.unavailable();
+            case RESULT_NOT_FOUND -> EnrollmentResult.resultNotFound();
+            case SUPERSEDED -> EnrollmentResult.superseded();
+        };
+    }
+
+    private static List<String> toStringList(Object value) {
+        List<String> strings = new ArrayList<>();
+
+        if (value instanceof List<?> list) {
+            for (Object item : list) {
+                strings.add(item.toString());
+            }
+        }
+
+        return strings;
+    }
+}
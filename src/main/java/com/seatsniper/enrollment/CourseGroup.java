@@ -0,0 +1,59 @@
+package com.seatsniper.enrollment;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+// Interchangeable sections of one course in order of preference, landing any one of them is enough
+public final class CourseGroup {
+    private final List<String> sectionCodes;
+
+    public CourseGroup(List<String> sectionCodes) {
+        Objects.requireNonNull(sectionCodes, "Section codes cannot be null");
+
+        if (sectionCodes.isEmpty()) {
+            throw new IllegalArgumentException("A course group needs at least one section code");
+        }
+
+        this.sectionCodes = List.copyOf(sectionCodes);
+    }
+
+    // One group per code, for callers that have no alternatives
+    public static List<CourseGroup> singles(Collection<String> sectionCodes) {
+        return sectionCodes.stream().map(code -> new CourseGroup(List.of(code))).toList();
+    }
+
+    public List<String> getSectionCodes() {
+        return sectionCodes;
+    }
+
+    public boolean hasAlternatives() {
+        return sectionCodes.size() > 1;
+    }
+
+    public boolean contains(String sectionCode) {
+        return sectionCodes.contains(sectionCode);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        return sectionCodes.equals(((CourseGroup) obj).sectionCodes);
+    }
+
+    @Override
+    public int hashCode() {
+        return sectionCodes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.join("|", sectionCodes);
+    }
+}
@@ -0,0 +1,8 @@
+package com.seatsniper.enrollment;
+
+// Called on the enrollment thread, implementations must hand work off instead of blocking
+public interface EnrollmentListener {
+    void onSectionResult(String sectionCode, String courseName, EnrollmentResult result);
+
+    void onCycleComplete(int cycleNumber, long durationNanos, int remainingSections);
+}
@@ -0,0 +1,57 @@
+package com.seatsniper.enrollment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.json.Json;
+
+public final class EnrollmentResponseParser {
+    private static final Json JSON = new Json();
+
+    private EnrollmentResponseParser() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    // Turns the checkout response into one text per section, holding the same code, name and message as its
+    // course_box so EnrollmentResultParser reads both alike. Empty when the body is not a list of results
+    public static List<String> parse(String body) {
+        Object content;
+
+        try {
+            content = JSON.toType(body, Object.class);
+        } catch (RuntimeException e) {
+            return List.of();
+        }
+
+        // Some responses wrap the list in an object, the first list found is taken as the results
+        if (content instanceof Map<?, ?> wrapper) {
+            content = wrapper.values().stream().filter(List.class::isInstance).findFirst().orElse(null);
+        }
+
+        if (!(content instanceof List<?> entries)) {
+            return List.of();
+        }
+
+        List<String> resultTexts = new ArrayList<>(entries.size());
+
+        for (Object entry : entries) {
+            StringBuilder text = new StringBuilder();
+
+            appendValues(text, entry);
+            resultTexts.add(text.toString().trim());
+        }
+
+        return resultTexts;
+    }
+
+    private static void appendValues(StringBuilder text, Object value) {
+        if (value instanceof Map<?, ?> map) {
+            map.values().forEach(nested -> appendValues(text, nested));
+        } else if (value instanceof List<?> list) {
+            list.forEach(nested -> appendValues(text, nested));
+        } else if (value != null) {
+            text.append(value).append('\n');
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.seatsniper.enrollment;
+
+import java.util.Objects;
+
+public final class EnrollmentResult {
+    public static final int NO_WAITLIST_POSITION = -1;
+
+    private static final EnrollmentResult ENROLLED = new EnrollmentResult(EnrollmentStatus.ENROLLED, NO_WAITLIST_POSITION, "");
+    private static final EnrollmentResult UNAVAILABLE = new EnrollmentResult(EnrollmentStatus.UNAVAILABLE, NO_WAITLIST_POSITION, "");
+    private static final EnrollmentResult RESULT_NOT_FOUND = new EnrollmentResult(EnrollmentStatus.RESULT_NOT_FOUND, NO_WAITLIST_POSITION, "");
+    private static final EnrollmentResult SUPERSEDED = new EnrollmentResult(EnrollmentStatus.SUPERSEDED, NO_WAITLIST_POSITION, "");
+
+    private final EnrollmentStatus status;
+    private final int waitlistPosition;
+    private final String failureReason;
+
+    private EnrollmentResult(EnrollmentStatus status, int waitlistPosition, String failureReason) {
+        this.status = status;
+        this.waitlistPosition = waitlistPosition;
+        this.failureReason = failureReason;
+    }
+
+    public static EnrollmentResult enrolled() {
+        return ENROLLED;
+    }
+
+    // NO_WAITLIST_POSITION when the result did not state one
+    public static EnrollmentResult waitlisted(int waitlistPosition) {
+        return new EnrollmentResult(EnrollmentStatus.WAITLISTED, waitlistPosition, "");
+    }
+
+    public static EnrollmentResult failed(String failureReason) {
+        return new EnrollmentResult(EnrollmentStatus.FAILED, NO_WAITLIST_POSITION, Objects.requireNonNull(failureReason, "Failure reason cannot be null"));
+    }
+
+    public static EnrollmentResult unavailable() {
+        return UNAVAILABLE;
+    }
+
+    public static EnrollmentResult resultNotFound() {
+        return RESULT_NOT_FOUND;
+    }
+
+    // Another section of the same course group was enrolled, so this one is no longer attempted
+    public static EnrollmentResult superseded() {
+        return SUPERSEDED;
+    }
+
+    public EnrollmentStatus getStatus() {
+        return status;
+    }
+
+    public int getWaitlistPosition() {
+        return waitlistPosition;
+    }
+
+    public boolean hasWaitlistPosition() {
+        return waitlistPosition != NO_WAITLIST_POSITION;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    // Enrolled, wait-listed and superseded courses are done, everything else is attempted again next cycle
+    public boolean isSettled() {
+        return status == EnrollmentStatus.ENROLLED || status == EnrollmentStatus.WAITLISTED || status == EnrollmentStatus.SUPERSEDED;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        EnrollmentResult result = (EnrollmentResult) obj;
+
+        return status == result.status
+                && waitlistPosition == result.waitlistPosition
+                && failureReason.equals(result.failureReason);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(status, waitlistPosition, failureReason);
+    }
+
+    @Override
+    public String toString() {
+        return "EnrollmentResult{ " +
+                "status=" + status +
+                ", waitlistPosition=" + waitlistPosition +
+                ", failureReason='" + failureReason + '\'' +
+                " }";
+    }
+}
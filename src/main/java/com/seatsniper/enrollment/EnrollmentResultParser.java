@@ -0,0 +1,45 @@
+package com.seatsniper.enrollment;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class EnrollmentResultParser {
+    // One alternation so a single scan finds the failure marker, the wait list marker and its position
+    private static final Pattern RESULT_MARKERS = Pattern.compile("(Failed)|(wait list)|position number (\\d{1,9})");
+    private static final int GROUP_FAILED = 1;
+    private static final int GROUP_WAIT_LIST = 2;
+    private static final int GROUP_POSITION = 3;
+
+    private EnrollmentResultParser() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    // Parses the text of one course_box from the checkout results
+    public static EnrollmentResult parse(String boxText) {
+        Matcher matcher = RESULT_MARKERS.matcher(boxText);
+        int failureReasonStart = -1;
+        boolean waitlisted = false;
+        int waitlistPosition = EnrollmentResult.NO_WAITLIST_POSITION;
+
+        while (matcher.find()) {
+            if (matcher.start(GROUP_FAILED) != -1) {
+                failureReasonStart = matcher.end();
+            } else if (matcher.start(GROUP_WAIT_LIST) != -1) {
+                waitlisted = true;
+            } else if (waitlistPosition == EnrollmentResult.NO_WAITLIST_POSITION) {
+                waitlistPosition = Integer.parseInt(boxText, matcher.start(GROUP_POSITION), matcher.end(GROUP_POSITION), 10);
+            }
+        }
+
+        // The reason is whatever follows the last "Failed" marker
+        if (failureReasonStart != -1) {
+            return EnrollmentResult.failed(boxText.substring(failureReasonStart).trim().replace('\n', ' '));
+        }
+
+        if (waitlisted) {
+            return EnrollmentResult.waitlisted(waitlistPosition);
+        }
+
+        return EnrollmentResult.enrolled();
+    }
+}
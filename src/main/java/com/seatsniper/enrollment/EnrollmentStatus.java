@@ -0,0 +1,10 @@
+package com.seatsniper.enrollment;
+
+public enum EnrollmentStatus {
+    ENROLLED,
+    WAITLISTED,
+    FAILED,
+    UNAVAILABLE,
+    RESULT_NOT_FOUND,
+    SUPERSEDED
+}
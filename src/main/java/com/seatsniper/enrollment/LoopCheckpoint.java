@@ -0,0 +1,60 @@
+package com.seatsniper.enrollment;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Enrollment loop progress as of the end of a cycle, enough to resume without re-attempting settled sections
+public final class LoopCheckpoint {
+    private final String fingerprint;
+    private final int cycleCount;
+    private final List<String> remainingCodes;
+    private final Map<String, EnrollmentResult> results;
+    private final Map<String, String> courseNames;
+    private final List<String> pendingCartRemovals;
+
+    public LoopCheckpoint(String fingerprint, int cycleCount, List<String> remainingCodes, Map<String, EnrollmentResult> results,
+            Map<String, String> courseNames, List<String> pendingCartRemovals) {
+        this.fingerprint = fingerprint;
+        this.cycleCount = cycleCount;
+        this.remainingCodes = List.copyOf(remainingCodes);
+        this.results = new LinkedHashMap<>(results);
+        this.courseNames = new LinkedHashMap<>(courseNames);
+        this.pendingCartRemovals = List.copyOf(pendingCartRemovals);
+    }
+
+    // Identifies the term and course groups a checkpoint was taken for, a changed configuration starts over
+    public static String fingerprint(String courseTerm, List<CourseGroup> courseGroups) {
+        StringBuilder fingerprint = new StringBuilder(courseTerm);
+
+        for (CourseGroup group : courseGroups) {
+            fingerprint.append(',').append(group);
+        }
+
+        return fingerprint.toString();
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getCycleCount() {
+        return cycleCount;
+    }
+
+    public List<String> getRemainingCodes() {
+        return remainingCodes;
+    }
+
+    public Map<String, EnrollmentResult> getResults() {
+        return results;
+    }
+
+    public Map<String, String> getCourseNames() {
+        return courseNames;
+    }
+
+    public List<String> getPendingCartRemovals() {
+        return pendingCartRemovals;
+    }
+}
@@ -0,0 +1,40 @@
+package com.seatsniper.enrollment;
+
+import java.util.List;
+
+// The parts of the configuration a running enrollment loop can take over without logging in again
+public final class LoopSettings {
+    private final List<CourseGroup> courseGroups;
+    private final int interval;
+    private final int maxInterval;
+    private final int duration;
+    private final String checkpointFingerprint;
+
+    public LoopSettings(List<CourseGroup> courseGroups, int interval, int maxInterval, int duration, String checkpointFingerprint) {
+        this.courseGroups = List.copyOf(courseGroups);
+        this.interval = interval;
+        this.maxInterval = maxInterval;
+        this.duration = duration;
+        this.checkpointFingerprint = checkpointFingerprint;
+    }
+
+    public List<CourseGroup> getCourseGroups() {
+        return courseGroups;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getMaxInterval() {
+        return maxInterval;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public String getCheckpointFingerprint() {
+        return checkpointFingerprint;
+    }
+}
@@ -0,0 +1,262 @@
+package com.seatsniper.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import com.seatsniper.enrollment.EnrollmentListener;
+import com.seatsniper.enrollment.EnrollmentResult;
+
+// Appends events as JSON lines from a background thread so the enrollment loop never waits on the disk
+public final class EventJournal implements EnrollmentListener, AutoCloseable {
+    public static final String FILE_GLOB = "events-*.jsonl";
+
+    private static final String FILE_PREFIX = "events-";
+    private static final String FILE_SUFFIX = ".jsonl";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final int BATCH_SIZE = 256;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+    private static final long MAX_FILE_BYTES = 16L * 1024 * 1024;
+    private static final int MAX_FILES = 20;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+    private static final byte[] LINE_SEPARATOR = "\n".getBytes(StandardCharsets.UTF_8);
+
+    // Queued last so the writer knows every earlier event has been written
+    private static final JournalEvent END_OF_JOURNAL = new JournalEvent(0, "", "", Map.of());
+
+    private static final String ERROR_WRITE = "Could not write the event journal (%s), further events are discarded.";
+    private static final String MESSAGE_DROPPED = "The event journal was full, %d events were dropped.";
+
+    private final Path directory;
+    private final String sessionId;
+    private final BlockingQueue<JournalEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final Json json = new Json();
+    private final Thread writer;
+
+    private FileChannel channel;
+    private long fileBytes;
+    // Holds a whole drained batch so it reaches the file in one write
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private volatile boolean closed;
+
+    private EventJournal(Path directory, String sessionId) {
+        this.directory = directory;
+        this.sessionId = sessionId;
+        this.writer = new Thread(this::drain, "event-journal");
+        this.writer.setDaemon(true);
+    }
+
+    public static EventJournal open(Path directory, Map<String, Object> sessionFields) throws IOException {
+        Files.createDirectories(directory);
+
+        EventJournal journal = new EventJournal(directory, Long.toString(System.currentTimeMillis(), 36));
+
+        journal.rotate();
+        journal.writer.start();
+        journal.record(JournalEvent.TYPE_SESSION_START, sessionFields);
+
+        return journal;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    // Never blocks, events are counted and discarded when the writer falls behind
+    public void record(String type, Map<String, Object> fields) {
+        if (closed || !queue.offer(new JournalEvent(System.currentTimeMillis(), type, sessionId, fields))) {
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onSectionResult(String sectionCode, String courseName, EnrollmentResult result) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+
+        fields.put("section", sectionCode);
+        fields.put("course", courseName);
+        fields.put("status", result.getStatus().name());
+
+        if (result.hasWaitlistPosition()) {
+            fields.put("waitlistPosition", result.getWaitlistPosition());
+        }
+        if (!result.getFailureReason().isEmpty()) {
+            fields.put("reason", result.getFailureReason());
+        }
+
+        record(JournalEvent.TYPE_SECTION_RESULT, fields);
+    }
+
+    @Override
+    public void onCycleComplete(int cycleNumber, long durationNanos, int remainingSections) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+
+        fields.put("cycle", cycleNumber);
+        fields.put("durationMicros", TimeUnit.NANOSECONDS.toMicros(durationNanos));
+        fields.put("remainingSections", remainingSections);
+
+        record(JournalEvent.TYPE_CYCLE, fields);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        record(JournalEvent.TYPE_SESSION_END, Map.of("droppedEvents", droppedEvents.get()));
+        closed = true;
+
+        // A writer that died with the queue full would never make room for the marker, so both waits are bounded
+        try {
+            if (writer.isAlive() && queue.offer(END_OF_JOURNAL, CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                writer.join(CLOSE_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (droppedEvents.get() > 0) {
+            System.out.println(String.format(MESSAGE_DROPPED, droppedEvents.get()));
+        }
+    }
+
+    private void drain() {
+        List<JournalEvent> batch = new ArrayList<>(BATCH_SIZE);
+
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+
+                for (JournalEvent event : batch) {
+                    if (event == END_OF_JOURNAL) {
+                        flush();
+                        channel.force(false);
+                        return;
+                    }
+
+                    append(event);
+                }
+
+                flush();
+                batch.clear();
+            }
+        } catch (IOException e) {
+            System.err.println(String.format(ERROR_WRITE, e.getMessage()));
+            closed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    private void append(JournalEvent event) throws IOException {
+        StringBuilder text = new StringBuilder();
+
+        try (JsonOutput output = json.newOutput(text)) {
+            output.setPrettyPrint(false).write(event.toMap());
+        }
+
+        byte[] line = text.toString().getBytes(StandardCharsets.UTF_8);
+        int length = line.length + LINE_SEPARATOR.length;
+
+        if (fileBytes + pending.position() + length > MAX_FILE_BYTES) {
+            flush();
+            rotate();
+        }
+
+        if (pending.remaining() < length) {
+            pending = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + length)).put(pending.flip());
+        }
+
+        pending.put(line).put(LINE_SEPARATOR);
+    }
+
+    private void flush() throws IOException {
+        pending.flip();
+
+        while (pending.hasRemaining()) {
+            fileBytes += channel.write(pending);
+        }
+
+        pending.clear();
+    }
+
+    private void rotate() throws IOException {
+        closeChannel();
+
+        Path file = directory.resolve(FILE_PREFIX + LocalDateTime.now().format(FILE_TIMESTAMP) + FILE_SUFFIX);
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileBytes = channel.size();
+
+        pruneOldFiles();
+    }
+
+    private void pruneOldFiles() throws IOException {
+        List<Path> files = listFiles(directory);
+
+        for (int i = 0; i < files.size() - MAX_FILES; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println(String.format(ERROR_WRITE, e.getMessage()));
+        }
+
+        channel = null;
+    }
+
+    // Oldest first, the timestamp in the file name sorts chronologically
+    public static List<Path> listFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_GLOB)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+
+        files.sort(null);
+
+        return files;
+    }
+}
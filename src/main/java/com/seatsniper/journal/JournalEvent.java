@@ -0,0 +1,56 @@
+package com.seatsniper.journal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// One line of the journal, built on the enrollment thread and serialized by the writer thread
+public final class JournalEvent {
+    public static final String TYPE_SESSION_START = "session_start";
+    public static final String TYPE_CYCLE = "cycle";
+    public static final String TYPE_SECTION_RESULT = "section_result";
+    public static final String TYPE_SESSION_END = "session_end";
+
+    public static final String FIELD_TIME = "time";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_SESSION = "session";
+
+    private final long epochMillis;
+    private final String type;
+    private final String sessionId;
+    private final Map<String, Object> fields;
+
+    public JournalEvent(long epochMillis, String type, String sessionId, Map<String, Object> fields) {
+        this.epochMillis = epochMillis;
+        this.type = type;
+        this.sessionId = sessionId;
+        this.fields = Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> line = new LinkedHashMap<>();
+
+        line.put(FIELD_TIME, epochMillis);
+        line.put(FIELD_TYPE, type);
+        line.put(FIELD_SESSION, sessionId);
+        line.putAll(fields);
+
+        return line;
+    }
+}
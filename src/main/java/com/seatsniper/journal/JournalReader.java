@@ -0,0 +1,163 @@
+package com.seatsniper.journal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.openqa.selenium.json.Json;
+
+// Prints the journal of one or more runs, e.g. java com.seatsniper.journal.JournalReader .seatsniper/john.doe67/journal --section 16158
+public final class JournalReader {
+    private static final String OPTION_TYPE = "--type";
+    private static final String OPTION_SECTION = "--section";
+    private static final String OPTION_SESSION = "--session";
+    private static final String FIELD_SECTION = "section";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_DURATION = "durationMicros";
+    private static final String HEADER_TEXT = "----- JOURNAL SUMMARY -----";
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static final String ERROR_USAGE = "Usage: JournalReader <journalDirectory> [--type <type>] [--section <code>] [--session <id>]";
+    private static final String ERROR_MALFORMED_LINE = "Skipping malformed line %d of %s";
+
+    private final Json json = new Json();
+    private final Map<String, String> filters = new TreeMap<>();
+    private final Set<String> sessions = new LinkedHashSet<>();
+    private final Map<String, String> latestStatuses = new TreeMap<>();
+    private long matchedEvents;
+    private long cycles;
+    private long totalCycleMicros;
+    private long maxCycleMicros;
+
+    private JournalReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length % 2 == 0) {
+            System.err.println(ERROR_USAGE);
+            System.exit(1);
+        }
+
+        JournalReader reader = new JournalReader();
+
+        for (int i = 1; i < args.length; i += 2) {
+            switch (args[i]) {
+                case OPTION_TYPE -> reader.filters.put(JournalEvent.FIELD_TYPE, args[i + 1]);
+                case OPTION_SECTION -> reader.filters.put(FIELD_SECTION, args[i + 1]);
+                case OPTION_SESSION -> reader.filters.put(JournalEvent.FIELD_SESSION, args[i + 1]);
+                default -> {
+                    System.err.println(ERROR_USAGE);
+                    System.exit(1);
+                }
+            }
+        }
+
+        for (Path file : EventJournal.listFiles(Paths.get(args[0]))) {
+            reader.read(file);
+        }
+
+        System.out.println(reader.summary());
+    }
+
+    private void read(Path file) throws IOException {
+        try (BufferedReader lines = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                Map<String, Object> event;
+
+                // A crash can leave the last line of a file half written
+                try {
+                    event = json.toType(line, Json.MAP_TYPE);
+                } catch (RuntimeException e) {
+                    System.err.println(String.format(ERROR_MALFORMED_LINE, lineNumber, file));
+                    continue;
+                }
+
+                if (matches(event)) {
+                    print(event);
+                    tally(event);
+                }
+            }
+        }
+    }
+
+    private boolean matches(Map<String, Object> event) {
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            if (!filter.getValue().equals(String.valueOf(event.get(filter.getKey())))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void print(Map<String, Object> event) {
+        StringBuilder line = new StringBuilder();
+
+        line.append(TIME_FORMAT.format(Instant.ofEpochMilli(((Number) event.get(JournalEvent.FIELD_TIME)).longValue())))
+            .append(' ').append(event.get(JournalEvent.FIELD_SESSION))
+            .append(' ').append(event.get(JournalEvent.FIELD_TYPE));
+
+        for (Map.Entry<String, Object> field : event.entrySet()) {
+            String key = field.getKey();
+
+            if (!key.equals(JournalEvent.FIELD_TIME) && !key.equals(JournalEvent.FIELD_SESSION) && !key.equals(JournalEvent.FIELD_TYPE)) {
+                line.append(' ').append(key).append('=').append(field.getValue());
+            }
+        }
+
+        System.out.println(line);
+    }
+
+    private void tally(Map<String, Object> event) {
+        matchedEvents++;
+        sessions.add(String.valueOf(event.get(JournalEvent.FIELD_SESSION)));
+
+        String type = String.valueOf(event.get(JournalEvent.FIELD_TYPE));
+
+        if (JournalEvent.TYPE_CYCLE.equals(type) && event.get(FIELD_DURATION) instanceof Number duration) {
+            cycles++;
+            totalCycleMicros += duration.longValue();
+            maxCycleMicros = Math.max(maxCycleMicros, duration.longValue());
+        } else if (JournalEvent.TYPE_SECTION_RESULT.equals(type)) {
+            latestStatuses.put(String.valueOf(event.get(FIELD_SECTION)), String.valueOf(event.get(FIELD_STATUS)));
+        }
+    }
+
+    private String summary() {
+        StringBuilder summary = new StringBuilder();
+
+        summary.append("\n").append(HEADER_TEXT).append("\n\n");
+        summary.append(String.format("Events: %d across %d session(s)%n", matchedEvents, sessions.size()));
+
+        if (cycles > 0) {
+            summary.append(String.format("Cycles: %d, mean %.1fms, max %.1fms%n", cycles, totalCycleMicros / 1000.0 / cycles, maxCycleMicros / 1000.0));
+        }
+
+        for (Map.Entry<String, String> status : latestStatuses.entrySet()) {
+            summary.append(String.format("  %-10s last seen %s%n", status.getKey(), status.getValue()));
+        }
+
+        summary.append("\n").append("-".repeat(HEADER_TEXT.length())).append("\n");
+
+        return summary.toString();
+    }
+}
@@ -0,0 +1,134 @@
+package com.seatsniper.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fixed-bucket histogram, recording is lock-free so it can sit on every page object call
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+    private static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_BOUNDS_MILLIS.length];
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = TimeUnit.MILLISECONDS.toNanos(BUCKET_BOUNDS_MILLIS[i]);
+        }
+    }
+
+    private final String name;
+    private final String labelName;
+    private final String labelValue;
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_BOUNDS_NANOS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram(String name, String labelName, String labelValue) {
+        this.name = name;
+        this.labelName = labelName;
+        this.labelValue = labelValue;
+    }
+
+    public void record(long elapsedNanos) {
+        int bucket = 0;
+
+        while (bucket < BUCKET_BOUNDS_NANOS.length && elapsedNanos > BUCKET_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+
+        bucketCounts.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(elapsedNanos);
+
+        if (elapsedNanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+    }
+
+    // Returns the start time so callers can time a block with recordSince in a finally
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLabelValue() {
+        return labelValue;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long samples = count.sum();
+
+        return samples == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / samples;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return maxNanos.get() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return estimatePercentileMillis(0.50);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return estimatePercentileMillis(0.99);
+    }
+
+    // Upper bound of the bucket holding the percentile, capped at the largest value seen
+    private double estimatePercentileMillis(double percentile) {
+        long samples = count.sum();
+
+        if (samples == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(percentile * samples);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            seen += bucketCounts.get(i);
+
+            if (seen >= rank) {
+                return Math.min(BUCKET_BOUNDS_MILLIS[i], getMaxMillis());
+            }
+        }
+
+        return getMaxMillis();
+    }
+
+    void writePrometheus(StringBuilder output) {
+        String label = labelName + "=\"" + PrometheusText.escape(labelValue) + "\"";
+        long cumulative = 0;
+
+        for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+            cumulative += bucketCounts.get(i);
+
+            output.append(name).append("_bucket{").append(label).append(",le=\"")
+                    .append(BUCKET_BOUNDS_NANOS[i] / NANOS_PER_SECOND).append("\"} ").append(cumulative).append('\n');
+        }
+
+        cumulative += bucketCounts.get(BUCKET_BOUNDS_NANOS.length);
+
+        output.append(name).append("_bucket{").append(label).append(",le=\"+Inf\"} ").append(cumulative).append('\n');
+        output.append(name).append("_sum{").append(label).append("} ").append(totalNanos.sum() / NANOS_PER_SECOND).append('\n');
+        output.append(name).append("_count{").append(label).append("} ").append(cumulative).append('\n');
+    }
+}
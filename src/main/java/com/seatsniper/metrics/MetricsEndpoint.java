@@ -0,0 +1,50 @@
+package com.seatsniper.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpServer;
+
+// Serves the registry in the Prometheus text format on localhost only
+public final class MetricsEndpoint implements AutoCloseable {
+    private static final String METRICS_PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String MESSAGE_LISTENING = "Metrics available at http://localhost:%d" + METRICS_PATH;
+
+    private final HttpServer server;
+
+    private MetricsEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    public static MetricsEndpoint start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+
+        server.createContext(METRICS_PATH, exchange -> {
+            try (exchange) {
+                byte[] body = MetricsRegistry.getInstance().getPrometheusText().getBytes(StandardCharsets.UTF_8);
+
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            }
+        });
+        server.start();
+
+        System.out.println(String.format(MESSAGE_LISTENING, server.getAddress().getPort()));
+
+        return new MetricsEndpoint(server);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,128 @@
+package com.seatsniper.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Process-wide metrics, every histogram and the section counters are also published as MXBeans under com.seatsniper
+public final class MetricsRegistry implements MetricsRegistryMXBean {
+    public static final String EVENT_ATTEMPT = "attempt";
+
+    private static final String ACTION_METRIC = "seatsniper_action_duration_seconds";
+    private static final String ACTION_HELP = "Time spent in page object primitives, waits included";
+    private static final String PHASE_METRIC = "seatsniper_phase_duration_seconds";
+    private static final String PHASE_HELP = "Time spent in each phase of an enrollment cycle";
+    private static final String SECTION_METRIC = "seatsniper_section_events_total";
+    private static final String SECTION_HELP = "Enrollment attempts and their outcomes per section";
+    private static final String COUNTER_PREFIX = "seatsniper_";
+    private static final String COUNTER_SUFFIX = "_total";
+    private static final String JMX_DOMAIN = "com.seatsniper";
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final ConcurrentMap<String, LatencyHistogram> actionHistograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> phaseHistograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> sectionEvents = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+        register("type=Registry", this);
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    // Look histograms up once and keep them in a field, the lookup is not meant for every call
+    public LatencyHistogram actionLatency(String action) {
+        return actionHistograms.computeIfAbsent(action, key -> create(ACTION_METRIC, "action", key, "Action"));
+    }
+
+    public LatencyHistogram phaseLatency(String phase) {
+        return phaseHistograms.computeIfAbsent(phase, key -> create(PHASE_METRIC, "phase", key, "Phase"));
+    }
+
+    // Exported as seatsniper_<name>_total, like histograms the adder should be kept in a field
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public void recordSectionEvent(String section, String event) {
+        sectionEvents.computeIfAbsent(section, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(event, key -> new LongAdder())
+                .increment();
+    }
+
+    @Override
+    public Map<String, Long> getSectionEvents() {
+        Map<String, Long> events = new TreeMap<>();
+
+        sectionEvents.forEach((section, counters) -> counters.forEach((event, counter) -> events.put(section + "." + event, counter.sum())));
+
+        return events;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+
+        return values;
+    }
+
+    @Override
+    public String getPrometheusText() {
+        StringBuilder output = new StringBuilder();
+
+        writeHistograms(output, ACTION_METRIC, ACTION_HELP, actionHistograms);
+        writeHistograms(output, PHASE_METRIC, PHASE_HELP, phaseHistograms);
+
+        output.append("# HELP ").append(SECTION_METRIC).append(' ').append(SECTION_HELP).append('\n');
+        output.append("# TYPE ").append(SECTION_METRIC).append(" counter\n");
+
+        new TreeMap<>(sectionEvents).forEach((section, counters) -> new TreeMap<>(counters).forEach((event, counter) ->
+                output.append(SECTION_METRIC).append("{section=\"").append(PrometheusText.escape(section))
+                        .append("\",event=\"").append(PrometheusText.escape(event)).append("\"} ")
+                        .append(counter.sum()).append('\n')));
+
+        getCounters().forEach((name, value) -> {
+            String metric = COUNTER_PREFIX + name + COUNTER_SUFFIX;
+
+            output.append("# TYPE ").append(metric).append(" counter\n");
+            output.append(metric).append(' ').append(value).append('\n');
+        });
+
+        return output.toString();
+    }
+
+    private static void writeHistograms(StringBuilder output, String metric, String help, Map<String, LatencyHistogram> histograms) {
+        output.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(metric).append(" histogram\n");
+
+        new TreeMap<>(histograms).values().forEach(histogram -> histogram.writePrometheus(output));
+    }
+
+    private static LatencyHistogram create(String metric, String labelName, String labelValue, String jmxType) {
+        LatencyHistogram histogram = new LatencyHistogram(metric, labelName, labelValue);
+
+        register("type=" + jmxType + ",name=" + ObjectName.quote(labelValue), histogram);
+
+        return histogram;
+    }
+
+    // Metrics keep working without JMX, a failed registration only hides them from JConsole
+    private static void register(String properties, Object bean) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(bean, new ObjectName(JMX_DOMAIN + ":" + properties));
+        } catch (JMException e) {
+            System.err.println("Could not publish metrics over JMX: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.seatsniper.metrics;
+
+import java.util.Map;
+
+public interface MetricsRegistryMXBean {
+    // Keyed by "<section>.<event>", e.g. "16158.attempt"
+    Map<String, Long> getSectionEvents();
+
+    Map<String, Long> getCounters();
+
+    String getPrometheusText();
+}
@@ -0,0 +1,11 @@
+package com.seatsniper.metrics;
+
+final class PrometheusText {
+    private PrometheusText() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
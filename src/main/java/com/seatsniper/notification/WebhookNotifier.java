@@ -0,0 +1,303 @@
+package com.seatsniper.notification;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.json.Json;
+
+import com.seatsniper.enrollment.EnrollmentListener;
+import com.seatsniper.enrollment.EnrollmentResult;
+import com.seatsniper.enrollment.EnrollmentStatus;
+
+// Posts course status changes to webhooks from its own thread. The enrollment loop never waits on the network, it only
+// compares the result with the last one and takes a short lock to put it in the pending map
+public final class WebhookNotifier implements EnrollmentListener, AutoCloseable {
+    private static final int MAX_PENDING_SECTIONS = 256;
+    private static final long COALESCE_WINDOW_MILLIS = 2000;
+    private static final long IDLE_POLL_MILLIS = 500;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    static final int MAX_ATTEMPTS = 5;
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 30000;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private static final String ERROR_DELIVERY = "Webhook %s failed after %d attempt(s): %s";
+    private static final String MESSAGE_DROPPED = "Too many sections were waiting for the webhooks, %d notifications were dropped.";
+
+    private final List<URI> urls;
+    private final String title;
+    private final HttpClient client;
+    private final Json json = new Json();
+    private final Object pendingLock = new Object();
+    private Map<String, SectionNotification> pending = new LinkedHashMap<>();
+    private final Map<String, EnrollmentResult> lastResults = new ConcurrentHashMap<>();
+    private final AtomicLong droppedNotifications = new AtomicLong();
+    private final AtomicLong deliveredRequests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final Thread dispatcher;
+    private final long coalesceWindowMillis;
+    private final long initialBackoffMillis;
+
+    private volatile boolean closed;
+
+    public WebhookNotifier(List<URI> urls, String title) {
+        this(urls, title, COALESCE_WINDOW_MILLIS, INITIAL_BACKOFF_MILLIS);
+    }
+
+    // Shorter waits let tests run through every retry in a few hundred milliseconds
+    WebhookNotifier(List<URI> urls, String title, long coalesceWindowMillis, long initialBackoffMillis) {
+        this.urls = List.copyOf(urls);
+        this.title = title;
+        this.coalesceWindowMillis = coalesceWindowMillis;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.client = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
+        this.dispatcher = new Thread(this::dispatch, "webhook-notifier");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    // Only changes are sent, a course failing every cycle is reported once until its status moves
+    @Override
+    public void onSectionResult(String sectionCode, String courseName, EnrollmentResult result) {
+        if (closed || result.equals(lastResults.put(sectionCode, result))) {
+            return;
+        }
+
+        SectionNotification notification = new SectionNotification(System.currentTimeMillis(), sectionCode, courseName, result);
+
+        // A newer result replaces one still waiting for the same section, so bursts collapse instead of piling up
+        synchronized (pendingLock) {
+            if (pending.size() < MAX_PENDING_SECTIONS || pending.containsKey(sectionCode)) {
+                pending.remove(sectionCode);
+                pending.put(sectionCode, notification);
+                pendingLock.notifyAll();
+
+                return;
+            }
+        }
+
+        // Forgetting a dropped result lets the next cycle queue it again
+        lastResults.remove(sectionCode);
+        droppedNotifications.incrementAndGet();
+    }
+
+    @Override
+    public void onCycleComplete(int cycleNumber, long durationNanos, int remainingSections) {
+    }
+
+    public long getDroppedNotifications() {
+        return droppedNotifications.get();
+    }
+
+    public long getDeliveredRequests() {
+        return deliveredRequests.get();
+    }
+
+    public long getFailedRequests() {
+        return failedRequests.get();
+    }
+
+    // Pending notifications get one delivery attempt, a receiver that is down cannot hold up shutdown
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        dispatcher.interrupt();
+
+        try {
+            dispatcher.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (droppedNotifications.get() > 0) {
+            System.out.println(String.format(MESSAGE_DROPPED, droppedNotifications.get()));
+        }
+    }
+
+    private void dispatch() {
+        while (true) {
+            try {
+                synchronized (pendingLock) {
+                    while (pending.isEmpty() && !closed) {
+                        pendingLock.wait(IDLE_POLL_MILLIS);
+                    }
+                }
+
+                // Results of one checkout arrive together, waiting briefly sends them as a single message
+                if (!closed) {
+                    Thread.sleep(coalesceWindowMillis);
+                }
+            } catch (InterruptedException e) {
+                // Interrupted by close(), whatever is pending is sent right away
+            }
+
+            List<SectionNotification> batch;
+
+            synchronized (pendingLock) {
+                if (pending.isEmpty()) {
+                    if (closed) {
+                        return;
+                    }
+
+                    continue;
+                }
+
+                batch = new ArrayList<>(pending.values());
+                pending = new LinkedHashMap<>();
+            }
+
+            // An interrupt that landed outside a wait would otherwise abort the final attempt
+            if (closed) {
+                Thread.interrupted();
+            }
+
+            String payload = toPayload(batch);
+            boolean delivered = false;
+
+            for (URI url : urls) {
+                delivered |= deliver(url, payload);
+            }
+
+            // Results no receiver got are forgotten, so their next report is sent again instead of being taken for a repeat
+            if (!delivered) {
+                for (SectionNotification notification : batch) {
+                    lastResults.remove(notification.sectionCode, notification.result);
+                }
+            }
+        }
+    }
+
+    private boolean deliver(URI url, String payload) {
+        HttpRequest request = HttpRequest.newBuilder(url)
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(payload))
+            .build();
+        int maxAttempts = closed ? 1 : MAX_ATTEMPTS;
+        long backoffMillis = initialBackoffMillis;
+        String lastError = "";
+        int attempts = 0;
+
+        while (attempts < maxAttempts) {
+            attempts++;
+
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+
+                if (status / 100 == 2) {
+                    deliveredRequests.incrementAndGet();
+
+                    return true;
+                }
+
+                lastError = "HTTP " + status;
+
+                // Other client errors mean the request itself is wrong, repeating it cannot help
+                if (status / 100 == 4 && status != HTTP_TOO_MANY_REQUESTS) {
+                    break;
+                }
+            } catch (IOException e) {
+                lastError = e.toString();
+            } catch (InterruptedException e) {
+                lastError = "interrupted while closing";
+
+                break;
+            }
+
+            if (attempts == maxAttempts || closed) {
+                break;
+            }
+
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+
+        failedRequests.incrementAndGet();
+        System.err.println(String.format(ERROR_DELIVERY, url.getHost(), attempts, lastError));
+
+        return false;
+    }
+
+    private String toPayload(List<SectionNotification> notifications) {
+        List<Map<String, Object>> events = new ArrayList<>(notifications.size());
+        StringBuilder text = new StringBuilder(title);
+
+        for (SectionNotification notification : notifications) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            EnrollmentResult result = notification.result;
+
+            event.put("time", notification.epochMillis);
+            event.put("section", notification.sectionCode);
+            event.put("course", notification.courseName);
+            event.put("status", result.getStatus().name());
+
+            if (result.hasWaitlistPosition()) {
+                event.put("waitlistPosition", result.getWaitlistPosition());
+            }
+            if (!result.getFailureReason().isEmpty()) {
+                event.put("reason", result.getFailureReason());
+            }
+
+            events.add(event);
+            text.append('\n').append(describe(notification));
+        }
+
+        // "text" and "content" are what Slack and Discord incoming webhooks display
+        Map<String, Object> payload = new LinkedHashMap<>();
+
+        payload.put("text", text.toString());
+        payload.put("content", text.toString());
+        payload.put("events", events);
+
+        return json.toJson(payload);
+    }
+
+    private static String describe(SectionNotification notification) {
+        String course = notification.courseName != null ? notification.courseName : notification.sectionCode;
+        EnrollmentResult result = notification.result;
+
+        if (result.getStatus() == EnrollmentStatus.WAITLISTED && result.hasWaitlistPosition()) {
+            return course + ": WAITLISTED (position " + result.getWaitlistPosition() + ")";
+        }
+        if (result.getStatus() == EnrollmentStatus.FAILED) {
+            return course + ": FAILED (" + result.getFailureReason() + ")";
+        }
+
+        return course + ": " + result.getStatus().name();
+    }
+
+    private static final class SectionNotification {
+        private final long epochMillis;
+        private final String sectionCode;
+        private final String courseName;
+        private final EnrollmentResult result;
+
+        private SectionNotification(long epochMillis, String sectionCode, String courseName, EnrollmentResult result) {
+            this.epochMillis = epochMillis;
+            this.sectionCode = sectionCode;
+            this.courseName = courseName;
+            this.result = result;
+        }
+    }
+}
@@ -1,33 +1,58 @@
 package com.seatsniper.pages;
 
-import org.jboss.aerogear.security.otp.Totp;
+import java.time.Clock;
+import java.time.Duration;
+
+import com.seatsniper.browser.BrowserSession;
+import com.seatsniper.utilities.AppointmentTimer;
+import com.seatsniper.utilities.TotpCode;
+import com.seatsniper.utilities.TotpGenerator;
+
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 
 public class AuthenticationPage extends BasePage {
-    private static final long INITIAL_WAIT_MS = 6000;
-    private static final long AUTHENTICATOR_SWITCH_WAIT_MS = 3000;
+    private static final Duration LOGIN_REDIRECT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration OTP_RESULT_TIMEOUT = Duration.ofSeconds(15);
+    // Covers typing, the click and the round trip; a code with less time left is skipped for the next one
+    private static final Duration MIN_OTP_VALIDITY = Duration.ofSeconds(8);
+    private static final int MAX_OTP_ATTEMPTS = 3;
     
     private static final String ERROR_AUTHENTICATOR_NOT_FOUND = "The provided authenticator name: \"%s\" is not a valid option registered to your CUNYfirst account.";
     private static final String AUTHENTICATOR_LINK_PREFIX = "Enter OTP from device ";
     private static final String AUTHENTICATOR_OPTIONS_BUTTON_TEXT = "Return to All Options";
     private static final String AUTHENTICATOR_SUBSTRING_KEY = "phone ";
+    private static final String ERROR_OTP_REJECTED = "The one-time code was rejected %d times in a row. Check that authentication_key matches the authenticator and that this machine's clock is correct.";
+    private static final String MESSAGE_OTP_RETRY = "The one-time code was not accepted, retrying with the next code (attempt %d of %d).";
 
     private final By defaultAuthenticatorLocator = By.xpath("//label[@for='otpValue|input']//span");
     private final By authenticatorOptionsButton = By.linkText(AUTHENTICATOR_OPTIONS_BUTTON_TEXT);
     private final By changeAuthenticatorHeader = By.id("loginForm");
     private final By tokenField = By.id("otpValue|input");
     private final By verifyButton = By.id("_oj1|text");
+    private final By otpErrorMessage = By.cssSelector(".oj-message-error, .oj-messaging-inline-container [role='alert']");
+
+    public AuthenticationPage(BrowserSession session) {
+        super(session);
+    }
 
     public NavigatePage authenticateLogin(String authenticatorName, String authenticationKey) throws InterruptedException {
-        Thread.sleep(INITIAL_WAIT_MS);
+        return authenticateLogin(authenticatorName, authenticationKey, Clock.systemUTC());
+    }
+
+    // The clock should follow the server's when its offset is known, codes are only valid within their 30 second step
+    public NavigatePage authenticateLogin(String authenticatorName, String authenticationKey, Clock clock) throws InterruptedException {
+        waitUntilVisible(defaultAuthenticatorLocator, LOGIN_REDIRECT_TIMEOUT);
         
         selectAuthenticatorIfNeeded(authenticatorName);
         
-        Thread.sleep(AUTHENTICATOR_SWITCH_WAIT_MS);
+        awaitPageReady();
         
-        enterOtpToken(authenticationKey);
+        enterOtpToken(new TotpGenerator(authenticationKey, clock), clock);
         
-        return new NavigatePage();
+        return new NavigatePage(session);
     }
 
     private void selectAuthenticatorIfNeeded(String authenticatorName) {
@@ -48,6 +73,7 @@ public class AuthenticationPage extends BasePage {
 
         if (isDisplayed(targetAuthenticatorLocator)) {
             click(targetAuthenticatorLocator);
+            waitForInvisibility(changeAuthenticatorHeader);
         } else {
             throw new IllegalArgumentException(
                 String.format(ERROR_AUTHENTICATOR_NOT_FOUND, authenticatorName)
@@ -55,15 +81,52 @@ public class AuthenticationPage extends BasePage {
         }
     }
 
-    private void enterOtpToken(String authenticationKey) {
-        Totp totp = new Totp(authenticationKey);
-        String currentToken = totp.now();
+    private void enterOtpToken(TotpGenerator generator, Clock clock) throws InterruptedException {
+        TotpCode code = generator.codeValidFor(MIN_OTP_VALIDITY);
+
+        for (int attempt = 1; attempt <= MAX_OTP_ATTEMPTS; attempt++) {
+            waitUntilVisible(tokenField);
+            setText(tokenField, code.getCode());
+
+            // A code for the next step is typed ahead and submitted the moment its step starts
+            AppointmentTimer.sleepUntil(code.getValidFrom(), clock);
 
-        //System.out.println(totp.toString());
+            WebElement previousError = findIfPresent(otpErrorMessage);
 
-        waitUntilVisible(tokenField);
-        setText(tokenField, currentToken);
+            click(verifyButton);
+
+            if (isOtpAccepted(previousError)) {
+                return;
+            }
+
+            if (attempt < MAX_OTP_ATTEMPTS) {
+                System.out.println(String.format(MESSAGE_OTP_RETRY, attempt + 1, MAX_OTP_ATTEMPTS));
+                code = generator.codeAfter(code, MIN_OTP_VALIDITY);
+            }
+        }
+
+        throw new IllegalStateException(String.format(ERROR_OTP_REJECTED, MAX_OTP_ATTEMPTS));
+    }
+
+    // Accepted once the token field goes away, rejected when an error shows or the field is still there at the timeout.
+    // An error left over from the previous attempt has to go away first, it says nothing about this code
+    private boolean isOtpAccepted(WebElement previousError) {
+        try {
+            if (previousError != null) {
+                waitUntil("previous otp error cleared", OTP_RESULT_TIMEOUT, ExpectedConditions.or(
+                    ExpectedConditions.invisibilityOf(previousError),
+                    ExpectedConditions.invisibilityOfElementLocated(tokenField)
+                ));
+            }
+
+            waitUntil("otp result", OTP_RESULT_TIMEOUT, ExpectedConditions.or(
+                ExpectedConditions.invisibilityOfElementLocated(tokenField),
+                ExpectedConditions.visibilityOfElementLocated(otpErrorMessage)
+            ));
+        } catch (TimeoutException e) {
+            return false;
+        }
 
-        click(verifyButton);
+        return !isDisplayed(otpErrorMessage) && !isDisplayed(tokenField);
     }
 }
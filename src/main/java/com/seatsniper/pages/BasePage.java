@@ -1,98 +1,330 @@
 package com.seatsniper.pages;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.seatsniper.browser.BrowserSession;
+import com.seatsniper.browser.ElementCache;
+import com.seatsniper.metrics.LatencyHistogram;
+import com.seatsniper.metrics.MetricsRegistry;
+import com.seatsniper.utilities.WaitStatistics;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 public abstract class BasePage {
     private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
-    
-    protected static WebDriver driver;
-    protected static WebDriverWait wait;
+    private static final Duration LOADER_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration PAGE_READY_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration POLLING_INTERVAL = Duration.ofMillis(100);
+    private static final Duration NETWORK_QUIET_PERIOD = Duration.ofMillis(500);
+
+    // innerText matches WebElement.getText for rendered elements
+    private static final String SNAPSHOT_SCRIPT = """
+        return Array.from(document.querySelectorAll(arguments[0]), function (element) {
+          var attributes = {};
+          for (var i = 0; i < element.attributes.length; i++) {
+            attributes[element.attributes[i].name] = element.attributes[i].value;
+          }
+          return { text: element.innerText, attributes: attributes };
+        });
+        """;
+    private static final String SNAPSHOT_TEXT = "text";
+    private static final String SNAPSHOT_ATTRIBUTES = "attributes";
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final LatencyHistogram FIND_LATENCY = METRICS.actionLatency("find");
+    private static final LatencyHistogram FIND_MULTIPLE_LATENCY = METRICS.actionLatency("find_multiple");
+    private static final LatencyHistogram SET_TEXT_LATENCY = METRICS.actionLatency("set_text");
+    private static final LatencyHistogram HOVER_LATENCY = METRICS.actionLatency("hover");
+    private static final LatencyHistogram CLICK_LATENCY = METRICS.actionLatency("click");
+    private static final LatencyHistogram GET_TEXT_LATENCY = METRICS.actionLatency("get_text");
+    private static final LatencyHistogram IS_DISPLAYED_LATENCY = METRICS.actionLatency("is_displayed");
+    private static final LatencyHistogram EXECUTE_SCRIPT_LATENCY = METRICS.actionLatency("execute_script");
+    private static final LatencyHistogram SNAPSHOT_LATENCY = METRICS.actionLatency("snapshot");
+    private static final LatencyHistogram WAIT_VISIBLE_LATENCY = METRICS.actionLatency("wait_visible");
+    private static final LatencyHistogram WAIT_CLICKABLE_LATENCY = METRICS.actionLatency("wait_clickable");
+    private static final LatencyHistogram WAIT_PRESENT_LATENCY = METRICS.actionLatency("wait_present");
+    private static final LatencyHistogram WAIT_STALE_LATENCY = METRICS.actionLatency("wait_stale");
+    private static final LatencyHistogram WAIT_INVISIBLE_LATENCY = METRICS.actionLatency("wait_invisible");
+    private static final LatencyHistogram WAIT_DOCUMENT_LATENCY = METRICS.actionLatency("wait_document_ready");
+    private static final LatencyHistogram WAIT_NETWORK_IDLE_LATENCY = METRICS.actionLatency("wait_network_idle");
+    private static final LatencyHistogram WAIT_CONDITION_LATENCY = METRICS.actionLatency("wait_condition");
+
+    protected final BrowserSession session;
+    protected final WebDriver driver;
+    protected final WebDriverWait wait;
+
+    private final WaitStatistics waitStatistics;
+    private final ElementCache elementCache;
 
-    public static void setDriver(WebDriver driverPassed) {
-        driver = driverPassed;
-        wait = new WebDriverWait(driver, DEFAULT_TIMEOUT);
+    protected BasePage(BrowserSession session) {
+        this.session = session;
+        this.driver = session.getDriver();
+        this.wait = new WebDriverWait(driver, DEFAULT_TIMEOUT, POLLING_INTERVAL);
+        this.waitStatistics = session.getWaitStatistics();
+        this.elementCache = session.getElementCache();
+    }
+
+    // Pages that can be interacted with before every subresource has loaded keep the EAGER default
+    protected PageLoadStrategy getPageLoadStrategy() {
+        return PageLoadStrategy.EAGER;
+    }
+
+    // Null when the page has no loading overlay to wait on
+    protected By getLoadingIndicator() {
+        return null;
     }
 
     protected WebElement find(By locator) {
-        return driver.findElement(locator);
+        long start = LatencyHistogram.start();
+
+        try {
+            return driver.findElement(locator);
+        } finally {
+            FIND_LATENCY.recordSince(start);
+        }
     }
 
     protected List<WebElement> findMultiple(By locator) {
-        return driver.findElements(locator);
+        long start = LatencyHistogram.start();
+
+        try {
+            return driver.findElements(locator);
+        } finally {
+            FIND_MULTIPLE_LATENCY.recordSince(start);
+        }
+    }
+
+    protected WebElement findIfPresent(By locator) {
+        List<WebElement> elements = findMultiple(locator);
+
+        return elements.isEmpty() ? null : elements.get(0);
     }
 
     protected void setText(By locator, String text) {
-        WebElement element = find(locator);
+        long start = LatencyHistogram.start();
+
+        try {
+            withElement(locator, element -> {
+                element.clear();
+                element.sendKeys(text);
 
-        element.clear();
-        element.sendKeys(text);
+                return null;
+            });
+        } finally {
+            SET_TEXT_LATENCY.recordSince(start);
+        }
     }
 
     protected void setTextAndEnter(By locator, String text) {
-        WebElement element = find(locator);
+        long start = LatencyHistogram.start();
+
+        try {
+            withElement(locator, element -> {
+                element.clear();
+                element.sendKeys(text);
+                element.sendKeys(Keys.ENTER);
 
-        element.clear();
-        element.sendKeys(text);
-        element.sendKeys(Keys.ENTER);
+                return null;
+            });
+        } finally {
+            SET_TEXT_LATENCY.recordSince(start);
+        }
     }
 
     protected void hover(By locator) {
-        WebElement element = find(locator);
-        Actions actions = new Actions(driver);
+        long start = LatencyHistogram.start();
+
+        try {
+            withElement(locator, element -> {
+                new Actions(driver).moveToElement(element).perform();
 
-        actions.moveToElement(element).perform();
+                return null;
+            });
+        } finally {
+            HOVER_LATENCY.recordSince(start);
+        }
     }
 
+    // Includes the clickable wait, wait_clickable shows how much of it was waiting.
+    // The wait hands back the element it checked, so the click needs no second lookup
     protected void click(By locator) {
-        waitUntilClickable(locator);
-        find(locator).click();
+        long start = LatencyHistogram.start();
+
+        try {
+            try {
+                waitUntilClickable(locator).click();
+            } catch (StaleElementReferenceException e) {
+                elementCache.invalidateStale(locator);
+                waitUntilClickable(locator).click();
+            }
+        } finally {
+            CLICK_LATENCY.recordSince(start);
+        }
     }
 
     protected void waitUntilVisible(By locator) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        timedWait("visible " + locator, WAIT_VISIBLE_LATENCY, wait, ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
-    protected void waitUntilClickable(By locator) {
-        wait.until(ExpectedConditions.elementToBeClickable(locator));
+    protected void waitUntilVisible(By locator, Duration timeout) {
+        timedWait("visible " + locator, WAIT_VISIBLE_LATENCY, createWait(timeout), ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    protected WebElement waitUntilClickable(By locator) {
+        return timedWait("clickable " + locator, WAIT_CLICKABLE_LATENCY, wait, WaitConditions.clickable(elementCache, locator, this::find));
+    }
+
+    protected void waitUntilPresent(By locator) {
+        timedWait("present " + locator, WAIT_PRESENT_LATENCY, wait, ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
+    protected void waitUntilStale(WebElement element) {
+        timedWait("stale element", WAIT_STALE_LATENCY, wait, ExpectedConditions.stalenessOf(element));
+    }
+
+    // For page-specific conditions, timed and reported alongside the built-in waits
+    protected <T> T waitUntil(String label, Duration timeout, ExpectedCondition<T> condition) {
+        return timedWait(label, WAIT_CONDITION_LATENCY, createWait(timeout), condition);
+    }
+
+    protected void awaitPageReady() {
+        PageLoadStrategy strategy = getPageLoadStrategy();
+
+        if (strategy != PageLoadStrategy.NONE) {
+            timedWait("document " + strategy + " " + getClass().getSimpleName(), WAIT_DOCUMENT_LATENCY, createWait(PAGE_READY_TIMEOUT), WaitConditions.documentReady(strategy));
+        }
+
+        By loadingIndicator = getLoadingIndicator();
+
+        if (loadingIndicator != null) {
+            waitForInvisibility(loadingIndicator);
+        }
+
+        if (strategy == PageLoadStrategy.NORMAL) {
+            waitForNetworkIdle();
+        }
+    }
+
+    protected void waitForNetworkIdle() {
+        timedWait("network idle " + getClass().getSimpleName(), WAIT_NETWORK_IDLE_LATENCY, wait, WaitConditions.networkIdle(NETWORK_QUIET_PERIOD));
     }
 
     protected String getText(By locator) {
+        long start = LatencyHistogram.start();
+
         try {
-            return find(locator).getText();
+            return withElement(locator, WebElement::getText);
         } catch (NoSuchElementException exception) {
             return "";
+        } finally {
+            GET_TEXT_LATENCY.recordSince(start);
         }
     }
 
     protected boolean isDisplayed(By locator) {
+        long start = LatencyHistogram.start();
+
         try {
-            return find(locator).isDisplayed();
+            return withElement(locator, WebElement::isDisplayed);
         } catch (NoSuchElementException exception) {
             return false;
+        } finally {
+            IS_DISPLAYED_LATENCY.recordSince(start);
         }
     }
 
     protected void waitForInvisibility(By locator) {
         try {
-            WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(3));
-
-            shortWait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            timedWait("invisible " + locator, WAIT_INVISIBLE_LATENCY, createWait(LOADER_TIMEOUT), ExpectedConditions.invisibilityOfElementLocated(locator));
         } catch (Exception e) {
             // If the loader wasn't there or already gone, just continue
         }
     }
 
-    protected void executeJavaScript(String script, Object... args) {
-        ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(script, args);
+    protected Object executeJavaScript(String script, Object... args) {
+        long start = LatencyHistogram.start();
+
+        try {
+            return ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(script, args);
+        } finally {
+            EXECUTE_SCRIPT_LATENCY.recordSince(start);
+        }
+    }
+
+    // Reads the text and attributes of every element matching a CSS selector in a single script call,
+    // where findMultiple followed by getText would cost one round trip per element
+    @SuppressWarnings("unchecked")
+    protected List<ElementSnapshot> snapshot(String cssSelector) {
+        long start = LatencyHistogram.start();
+
+        try {
+            Object result = ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, cssSelector);
+            List<ElementSnapshot> snapshots = new ArrayList<>();
+
+            if (!(result instanceof List<?> elements)) {
+                return snapshots;
+            }
+
+            for (Object element : elements) {
+                Map<String, Object> fields = (Map<String, Object>) element;
+                Map<String, String> attributes = new HashMap<>();
+                Object rawAttributes = fields.get(SNAPSHOT_ATTRIBUTES);
+
+                if (rawAttributes instanceof Map<?, ?> attributeMap) {
+                    attributeMap.forEach((name, value) -> attributes.put(String.valueOf(name), String.valueOf(value)));
+                }
+
+                Object text = fields.get(SNAPSHOT_TEXT);
+
+                snapshots.add(new ElementSnapshot(text != null ? text.toString() : "", attributes));
+            }
+
+            return snapshots;
+        } finally {
+            SNAPSHOT_LATENCY.recordSince(start);
+        }
+    }
+
+    // Runs the action on the cached handle; a stale handle is dropped and the locator resolved once more
+    private <T> T withElement(By locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(elementCache.resolve(locator, this::find));
+        } catch (StaleElementReferenceException e) {
+            elementCache.invalidateStale(locator);
+
+            return action.apply(elementCache.resolve(locator, this::find));
+        }
+    }
+
+    private WebDriverWait createWait(Duration timeout) {
+        return new WebDriverWait(driver, timeout, POLLING_INTERVAL);
+    }
+
+    private <T> T timedWait(String label, LatencyHistogram histogram, WebDriverWait driverWait, ExpectedCondition<T> condition) {
+        long start = System.nanoTime();
+
+        try {
+            return driverWait.until(condition);
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+
+            waitStatistics.record(label, elapsedNanos);
+            histogram.record(elapsedNanos);
+        }
     }
 }
@@ -0,0 +1,33 @@
+package com.seatsniper.pages;
+
+import java.util.Map;
+import java.util.Objects;
+
+// Text and attributes of one element, read in bulk by BasePage.snapshot so reading them costs no further round trips
+public final class ElementSnapshot {
+    private final String text;
+    private final Map<String, String> attributes;
+
+    public ElementSnapshot(String text, Map<String, String> attributes) {
+        this.text = text != null ? text : "";
+        this.attributes = Map.copyOf(Objects.requireNonNull(attributes, "Attributes cannot be null"));
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    // Null when the element does not have the attribute, like WebElement.getDomAttribute
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementSnapshot{ text='" + text + '\'' + ", attributes=" + attributes + " }";
+    }
+}
@@ -1,5 +1,7 @@
 package com.seatsniper.pages;
 
+import com.seatsniper.browser.BrowserSession;
+
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 
@@ -14,6 +16,10 @@ public class LoginPage extends BasePage {
     private final By homePageLoginButton = By.id("menu-item-158900");
     private final By homePageCunyFirstButton = By.id("menu-item-90744");
 
+    public LoginPage(BrowserSession session) {
+        super(session);
+    }
+
     public AuthenticationPage logIntoApplication(String username, String password) {
         if (username == null || username.trim().isEmpty()) {
             throw new IllegalArgumentException(ERROR_USERNAME);
@@ -46,7 +52,7 @@ public class LoginPage extends BasePage {
     private AuthenticationPage clickLoginButton() {
         click(loginButton);
 
-        return new AuthenticationPage();
+        return new AuthenticationPage(session);
     }
 
     public String getErrorMessage() {
@@ -1,9 +1,39 @@
 package com.seatsniper.pages;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import com.seatsniper.browser.BrowserSession;
+import com.seatsniper.browser.ResponseCapture;
+import com.seatsniper.enrollment.CheckpointStore;
+import com.seatsniper.enrollment.CourseGroup;
+import com.seatsniper.enrollment.EnrollmentListener;
+import com.seatsniper.enrollment.EnrollmentResult;
+import com.seatsniper.enrollment.EnrollmentResponseParser;
+import com.seatsniper.enrollment.EnrollmentResultParser;
+import com.seatsniper.enrollment.EnrollmentStatus;
+import com.seatsniper.enrollment.LoopCheckpoint;
+import com.seatsniper.enrollment.LoopSettings;
+import com.seatsniper.metrics.LatencyHistogram;
+import com.seatsniper.metrics.MetricsRegistry;
+import com.seatsniper.probe.SeatAvailabilityProbe;
+import com.seatsniper.probe.SessionExpiredException;
+import com.seatsniper.recovery.FailureKind;
+import com.seatsniper.recovery.RecoveryWatchdog;
+import com.seatsniper.timing.AdaptivePollingScheduler;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
@@ -23,6 +53,48 @@ public class LoopPage extends BasePage {
     public static final String GRAY_BACKGROUND = "\u001B[100m";
     public static final String BLACK_BACKGROUND = "\u001B[40m";
     public static final String RED_TEXT = "\u001B[31m";
+
+    private static final Duration SCHEDULE_BUILDER_LOAD_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration ENROLL_RESPONSE_TIMEOUT = Duration.ofSeconds(10);
+    private static final Pattern ENROLL_REQUEST_PATTERN = Pattern.compile("/enroll(?:[/?]|$)", Pattern.CASE_INSENSITIVE);
+    private static final String MESSAGE_RESPONSE_CAPTURE_UNAVAILABLE = "Could not watch the enrollment response over DevTools (%s), reading results from the page instead.";
+    private static final String MESSAGE_RESPONSE_NOT_SEEN = "No enrollment response was seen over DevTools, reading results from the page from now on.";
+    private static final long COUNTDOWN_STEP_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Clicks the Remove button of the cart row showing the code as a whole number. A row is the widest ancestor of a
+    // button that holds no other Remove button, so a code can't match a neighbouring row or the whole cart
+    private static final String REMOVE_FROM_CART_SCRIPT = """
+        var buttons = document.querySelectorAll('#legend_box [title*="Remove"]');
+        var pattern = new RegExp('(^|[^0-9])' + arguments[0] + '([^0-9]|$)');
+        for (var i = 0; i < buttons.length; i++) {
+          var row = buttons[i];
+          while (row.parentElement && row.parentElement.id !== 'legend_box'
+              && row.parentElement.querySelectorAll('[title*="Remove"]').length === 1) {
+            row = row.parentElement;
+          }
+          if (pattern.test(row.innerText)) {
+            buttons[i].click();
+            return true;
+          }
+        }
+        return false;
+        """;
+    private static final String MESSAGE_ALTERNATIVES_DROPPED = "\nEnrolled in %s, no longer attempting %s.";
+    private static final String MESSAGE_CART_REMOVAL_FAILED = "\nCould not remove %s from the cart, no other section of its course is checked out until it is gone.";
+    private static final String MESSAGE_CHECKPOINT_FAILED = "Could not save the loop checkpoint (%s), a restart may repeat this cycle's work.";
+    private static final String MESSAGE_ALREADY_SETTLED = "Every course was settled in a previous run.";
+    private static final String MESSAGE_RECONFIGURED = "\nConfiguration reloaded, attempting %s every %d seconds.";
+    private static final String MESSAGE_CADENCE_CHANGED = "\nCUNYfirst response times changed, attempting every %d seconds.";
+    private static final String COURSE_BOX_SELECTOR = "div[class*='course_box']";
+    // The second cell of the first search result, or the newer layout's name element
+    private static final String SEARCH_RESULT_NAME_SELECTOR = "#cb_search_results tr:first-of-type > td:nth-of-type(2), #cb_search_results .cb-course-name";
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final LatencyHistogram CYCLE_LATENCY = METRICS.phaseLatency("cycle");
+    private static final LatencyHistogram SEARCH_LATENCY = METRICS.phaseLatency("search");
+    private static final LatencyHistogram ADD_LATENCY = METRICS.phaseLatency("add");
+    private static final LatencyHistogram CHECKOUT_LATENCY = METRICS.phaseLatency("checkout");
+    private static final LatencyHistogram RESULT_PARSE_LATENCY = METRICS.phaseLatency("result_parse");
+    private static final LatencyHistogram COOLDOWN_LATENCY = METRICS.phaseLatency("cooldown");
    
     
     private final By continueButton = By.xpath("//button[contains(text(), 'Continue')]");
@@ -35,59 +107,213 @@ public class LoopPage extends BasePage {
     private final By firstResultCheckbox = By.id("cb-result-0");
     private final By addSelectedButton = By.xpath("//*[@id=\"noticePopup\"]/div/div[3]/input[1]");
     private final By closePopupBtn = By.xpath("//*[@id=\"noticePopup\"]/div/div[3]/input[2]");
+    // Lists the cart while staging and the checkout results after enrolling
+    private final By legendBox = By.id("legend_box");
+    private final By courseBoxes = By.cssSelector(COURSE_BOX_SELECTOR);
 
     private List<String> courseCodes;
-    private Map<String, String> enrollmentStatuses;
+    private Map<String, EnrollmentResult> enrollmentStatuses;
     private Map<String, String> courseNames;
-    private final int loopDuration;
-    private final int loopInterval;
-
-    public LoopPage(List<String> courseCodes, int loopDuration, int loopInterval) {
+    private Map<String, CourseGroup> groupsByCode;
+    // The section of each group the cart holds, alternatives are checked out one at a time in order of preference
+    private Map<CourseGroup, String> groupChoices;
+    // Sections staged for the next checkout, one per group that still has an outstanding section
+    private List<String> attemptCodes;
+    private List<String> pendingCartRemovals;
+    private int loopDuration;
+    private final AdaptivePollingScheduler pollingScheduler;
+    private SeatAvailabilityProbe seatProbe;
+    private long probeIntervalMillis;
+    private boolean checkoutOpen;
+    private int cycleCount;
+    private long lastCheckoutNanos;
+    private long lastEnrollClickNanos;
+    private boolean resultsMissing;
+    private boolean responseCaptureAvailable = true;
+    private List<EnrollmentListener> listeners = new CopyOnWriteArrayList<>();
+    private CheckpointStore checkpointStore;
+    private String checkpointFingerprint;
+    private AtomicReference<LoopSettings> pendingSettings = new AtomicReference<>();
+
+    public LoopPage(BrowserSession session, List<String> courseCodes, List<CourseGroup> courseGroups, int loopDuration, int loopInterval, int maxLoopInterval) {
+        super(session);
         this.courseCodes = courseCodes;
+        this.groupsByCode = new HashMap<>();
+        this.groupChoices = new HashMap<>();
+        this.attemptCodes = new ArrayList<>();
+        this.pendingCartRemovals = new ArrayList<>();
+
+        for (CourseGroup group : courseGroups) {
+            for (String code : group.getSectionCodes()) {
+                groupsByCode.put(code, group);
+            }
+        }
+
         this.loopDuration = loopDuration;
-        this.loopInterval = loopInterval * 1000;
+        this.pollingScheduler = new AdaptivePollingScheduler(Duration.ofSeconds(loopInterval), Duration.ofSeconds(maxLoopInterval));
         enrollmentStatuses = HashMap.newHashMap(courseCodes.size());
         courseNames = HashMap.newHashMap(courseCodes.size());
     }
 
+    // Continues the loop state of a previous page object on another browser session
+    public LoopPage(BrowserSession session, LoopPage previous) {
+        super(session);
+        this.courseCodes = previous.courseCodes;
+        this.loopDuration = previous.loopDuration;
+        this.pollingScheduler = previous.pollingScheduler;
+        this.enrollmentStatuses = previous.enrollmentStatuses;
+        this.courseNames = previous.courseNames;
+        this.groupsByCode = previous.groupsByCode;
+        this.groupChoices = previous.groupChoices;
+        this.attemptCodes = previous.attemptCodes;
+        this.pendingCartRemovals = previous.pendingCartRemovals;
+        this.seatProbe = previous.seatProbe;
+        this.probeIntervalMillis = previous.probeIntervalMillis;
+        this.cycleCount = previous.cycleCount;
+        this.listeners = previous.listeners;
+        this.checkpointStore = previous.checkpointStore;
+        this.checkpointFingerprint = previous.checkpointFingerprint;
+        this.pendingSettings = previous.pendingSettings;
+        this.responseCaptureAvailable = previous.responseCaptureAvailable;
+    }
+
+    // Progress is saved to the store after every cycle under the given fingerprint
+    public void setCheckpointStore(CheckpointStore checkpointStore, String checkpointFingerprint) {
+        this.checkpointStore = checkpointStore;
+        this.checkpointFingerprint = checkpointFingerprint;
+    }
+
+    // Continues from a previous run, sections it settled are not attempted again
+    public void restoreCheckpoint(LoopCheckpoint checkpoint) {
+        courseCodes.retainAll(checkpoint.getRemainingCodes());
+        enrollmentStatuses.putAll(checkpoint.getResults());
+        courseNames.putAll(checkpoint.getCourseNames());
+        pendingCartRemovals.addAll(checkpoint.getPendingCartRemovals());
+        cycleCount = checkpoint.getCycleCount();
+    }
+
+    // Safe to call from any thread, the loop takes the settings over before its next cycle and skips the rest of its wait
+    public void reconfigure(LoopSettings settings) {
+        pendingSettings.set(settings);
+        pollingScheduler.wake();
+    }
+
+    public void addListener(EnrollmentListener listener) {
+        listeners.add(listener);
+    }
+
+    // Starts the next cycle now instead of at its scheduled time
+    public void wake() {
+        pollingScheduler.wake();
+    }
+
+    // Time left until the next cycle is due, for callers that schedule cycles themselves
+    public Duration nextCycleDelay() {
+        return Duration.ofNanos(Math.max(0, pollingScheduler.peekDeadlineNanos() - System.nanoTime()));
+    }
+
+    // System.nanoTime() right after the last Enroll click returned
+    public long getLastEnrollClickNanos() {
+        return lastEnrollClickNanos;
+    }
+
+    public void setSeatProbe(SeatAvailabilityProbe seatProbe, int probeInterval) {
+        this.seatProbe = seatProbe;
+        this.probeIntervalMillis = probeInterval * 1000L;
+    }
+
+    public void awaitScheduleBuilder() {
+        awaitPageReady();
+        waitUntilVisible(advancedSearchButton, SCHEDULE_BUILDER_LOAD_TIMEOUT);
+    }
+
+    // Forgets what the browser was showing before a failure, the next cycle starts from the search form
+    public void resetPageState() {
+        checkoutOpen = false;
+    }
+
+    public boolean hasRemainingCourses() {
+        return !courseCodes.isEmpty();
+    }
+
     public void startEnrollmentLoop() {
+        startEnrollmentLoop(null);
+    }
+
+    // With a watchdog a failed cycle is recovered in place and the loop carries on, without one the failure ends the loop
+    public void startEnrollmentLoop(RecoveryWatchdog watchdog) {
+        if (!hasRemainingCourses()) {
+            System.out.println(MESSAGE_ALREADY_SETTLED);
+            printEnrollmentStatuses();
+
+            return;
+        }
+
+        awaitScheduleBuilder();
+
         boolean finished = false;
+        boolean firstCycle = true;
         long startTime = System.currentTimeMillis();
-        long durationMillis = loopDuration * 1000L;
 
         while (!finished) {
-            if (loopDuration > 0 && System.currentTimeMillis() - startTime > durationMillis) {
+            // New sections have to be staged, so a reload that changed them skips the probe for one cycle
+            if (applyPendingSettings()) {
+                firstCycle = true;
+            }
+
+            if (!hasRemainingCourses()) {
+                System.out.println("Success! You were enrolled/waitlisted in all courses.\n");
+
+                break;
+            }
+
+            if (loopDuration > 0 && System.currentTimeMillis() - startTime > loopDuration * 1000L) {
                 System.out.println("Max time exceeded.");
                 printEnrollmentStatuses();
 
                 break;
             }
 
-            Iterator<String> iterator = courseCodes.iterator();
+            // The first cycle always stages the cart, after that the browser is only driven once the probe sees a seat
+            try {
+                if (!firstCycle && !hasAvailableSeats()) {
+                    waitForNextProbe();
+
+                    continue;
+                }
+            } catch (SessionExpiredException e) {
+                // Every later probe would fail the same way, so the session is renewed instead of falling back to the browser
+                if (watchdog == null) {
+                    throw new UncheckedIOException(e);
+                }
 
-            while (iterator.hasNext()) {
-                String code = iterator.next();
-                boolean courseExists = searchForCourse(code);
+                watchdog.recover(new UncheckedIOException(e), FailureKind.SESSION_EXPIRED);
+                firstCycle = true;
 
-                if (!courseExists) {
-                    enrollmentStatuses.put(code, BOLD_GRAY_TEXT + "UNAVAILABLE" + RESET_ANSI);
-                    iterator.remove(); // O(n) but its fine since N has a max of 7 (faster than LinkedList and less costly than Sets)
-                } 
+                continue;
             }
 
+            firstCycle = false;
+
             try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+                finished = runCycle();
+            } catch (RuntimeException e) {
+                if (watchdog == null) {
+                    throw e;
+                }
 
-            attemptEnrollment();
-            printEnrollmentStatuses();
-            click(exitCheckoutButton);
+                watchdog.recover(e);
+                // The cart may not have survived the failure, so the next cycle stages it again
+                firstCycle = true;
 
-            if (courseCodes.isEmpty()) {
-                finished = true;
+                continue;
+            }
+
+            if (watchdog != null) {
+                watchdog.recordSuccess();
+            }
 
+            if (finished) {
                 System.out.println("Success! You were enrolled/waitlisted in all courses.\n");
             } else {
                 applyCooldown();
@@ -95,138 +321,647 @@ public class LoopPage extends BasePage {
         }
     }
 
-    private boolean searchForCourse(String courseCode) {
+    // Runs a single stage-and-enroll attempt, returns true once every course has been settled
+    public boolean runCycle() {
+        long start = LatencyHistogram.start();
+        long elapsedNanos;
+        boolean finished;
+
+        pollingScheduler.cycleStarted(start);
+        lastCheckoutNanos = 0;
+        resultsMissing = false;
+
+        try {
+            stageCart();
+            finished = fireEnrollment();
+        } catch (RuntimeException e) {
+            pollingScheduler.recordCycle(System.nanoTime() - start, true);
+
+            throw e;
+        } finally {
+            elapsedNanos = System.nanoTime() - start;
+            CYCLE_LATENCY.record(elapsedNanos);
+        }
+
+        if (pollingScheduler.recordCycle(lastCheckoutNanos, resultsMissing)) {
+            System.out.println(String.format(MESSAGE_CADENCE_CHANGED, pollingScheduler.getPeriod().toSeconds()));
+        }
+
+        cycleCount++;
+        saveCheckpoint();
+
+        for (EnrollmentListener listener : listeners) {
+            try {
+                listener.onCycleComplete(cycleCount, elapsedNanos, courseCodes.size());
+            } catch (RuntimeException e) {
+                System.out.println("Enrollment listener failed: " + e.getMessage());
+            }
+        }
+
+        return finished;
+    }
+
+    // Puts one section of every group in the cart, dropping codes the search can't find. A group whose section can't
+    // be found moves on to its next one in the same staging
+    public void stageCart() {
+        attemptCodes = selectAttemptCodes();
+
+        String cartText = removeUnattemptedFromCart(getText(legendBox));
+        List<String> missingCodes = findMissingCourseCodes(cartText);
+
+        while (!missingCodes.isEmpty()) {
+            Map<String, SearchOutcome> searchOutcomes = searchForCourses(missingCodes);
+
+            missingCodes = new ArrayList<>();
+
+            for (Map.Entry<String, SearchOutcome> outcome : searchOutcomes.entrySet()) {
+                if (outcome.getValue() == SearchOutcome.UNAVAILABLE) {
+                    String code = outcome.getKey();
+
+                    enrollmentStatuses.put(code, EnrollmentResult.unavailable());
+                    notifySectionResult(code, EnrollmentResult.unavailable());
+                    courseCodes.remove(code); // O(n) but its fine since N has a max of 7 (faster than LinkedList and less costly than Sets)
+                    attemptCodes.remove(code);
+
+                    String replacement = chooseSection(groupsByCode.get(code));
+
+                    if (replacement != null && !attemptCodes.contains(replacement)) {
+                        attemptCodes.add(replacement);
+                        missingCodes.add(replacement);
+                    }
+                }
+            }
+        }
+    }
+
+    // Leaves the checkout page waiting on the Enroll button so firing is a single click
+    public void openCheckout() {
+        click(continueButton);
+        waitUntilClickable(enrollButton);
+
+        checkoutOpen = true;
+    }
+
+    // Checks out the staged cart, returns true once every course has been settled
+    public boolean fireEnrollment() {
+        attemptEnrollment();
+        printEnrollmentStatuses();
+        click(exitCheckoutButton);
+        waitForInvisibility(exitCheckoutButton);
+
+        return courseCodes.isEmpty();
+    }
+
+    // Transient probe failures fall back to a browser attempt, only a lost session is passed on
+    private boolean hasAvailableSeats() throws SessionExpiredException {
+        if (seatProbe == null) {
+            return true;
+        }
+
+        try {
+            Set<String> availableCodes = seatProbe.findAvailableSections(courseCodes);
+
+            if (!availableCodes.isEmpty()) {
+                System.out.println("\nSeats detected for " + BOLD_TEXT + String.join(", ", availableCodes) + RESET_ANSI + ", attempting enrollment.");
+                preferAvailableSections(availableCodes);
+            }
+
+            return !availableCodes.isEmpty();
+        } catch (SessionExpiredException e) {
+            throw e;
+        } catch (IOException e) {
+            System.out.println("\nSeat probe failed (" + e.getMessage() + "), falling back to a browser attempt.");
+
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return true;
+        }
+    }
+
+    private void waitForNextProbe() {
+        try {
+            pollingScheduler.awaitDeadline(pollingScheduler.nextProbeDeadlineNanos(Duration.ofMillis(probeIntervalMillis)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Returns only the staged codes that still have to be searched for and added
+    private List<String> findMissingCourseCodes(String cartText) {
+        List<String> missingCodes = new ArrayList<>(attemptCodes.size());
+
+        for (String code : attemptCodes) {
+            if (!containsCode(cartText, code)) {
+                missingCodes.add(code);
+            }
+        }
+
+        return missingCodes;
+    }
+
+    // Stages every code through a single Advanced Search popup session, only reopening it if adding a result dismissed it
+    private Map<String, SearchOutcome> searchForCourses(List<String> codes) {
+        Map<String, SearchOutcome> outcomes = LinkedHashMap.newLinkedHashMap(codes.size());
+
+        for (String code : codes) {
+            if (!isDisplayed(popupSearchBar)) {
+                openSearchPopup();
+            }
+
+            outcomes.put(code, searchAndSelect(code));
+        }
+
+        if (isDisplayed(closePopupBtn)) {
+            click(closePopupBtn);
+        }
+
+        return outcomes;
+    }
+
+    private void openSearchPopup() {
         hover(advancedSearchButton);
         click(advancedSearchButton);
         waitUntilVisible(popupSearchBar);
+    }
 
-        setTextAndEnter(popupSearchBar, courseCode);
-        click(popupSearchButton);
+    private SearchOutcome searchAndSelect(String courseCode) {
+        long searchStart = LatencyHistogram.start();
+        boolean found;
 
         try {
-            waitUntilVisible(firstResultCheckbox);
-        } catch (Exception e) {
+            found = searchFor(courseCode);
+        } finally {
+            SEARCH_LATENCY.recordSince(searchStart);
+        }
+
+        if (!found) {
             System.out.println(RED_TEXT + "\nCourse " + RESET_ANSI + BOLD_BLACK_TEXT + courseCode + RESET_ANSI + RED_TEXT + " not found. Did you enter the right code?\n" + RESET_ANSI);
-            
-            if (isDisplayed(closePopupBtn)) {
-                click(closePopupBtn);
+
+            return SearchOutcome.UNAVAILABLE;
+        }
+
+        long addStart = LatencyHistogram.start();
+
+        try {
+            click(firstResultCheckbox);
+            click(addSelectedButton);
+            waitForNetworkIdle();
+        } finally {
+            ADD_LATENCY.recordSince(addStart);
+        }
+
+        return SearchOutcome.FOUND;
+    }
+
+    // Returns false when the search shows no result for the code
+    private boolean searchFor(String courseCode) {
+        WebElement previousResult = findIfPresent(firstResultCheckbox);
+
+        setText(popupSearchBar, courseCode);
+        click(popupSearchButton);
+
+        try {
+            if (previousResult != null) {
+                waitUntilStale(previousResult);
             }
 
+            waitUntilVisible(firstResultCheckbox);
+        } catch (Exception e) {
             return false;
         }
 
-        String courseNameText = find(By.id("cb_search_results")).findElement(By.xpath(".//tr[1]/td[2]")).getAttribute("innerText").trim();
-        
-        if (courseNameText.isBlank()) {
-            courseNameText = getText(By.cssSelector("#cb_search_results .cb-course-name"));
+        String courseNameText = "";
+
+        // Both name layouts are read in the one snapshot, the first one with text wins
+        for (ElementSnapshot nameCell : snapshot(SEARCH_RESULT_NAME_SELECTOR)) {
+            if (!nameCell.getText().isBlank()) {
+                courseNameText = nameCell.getText();
+
+                break;
+            }
         }
 
-        courseNameText = courseNameText.replace("\n", " - ").trim();
+        courseNameText = courseNameText.trim().replace("\n", " - ").trim();
 
         courseNames.put(courseCode, courseNameText);
 
-        click(firstResultCheckbox);
-        click(addSelectedButton);
+        return true;
+    }
+
+    private void attemptEnrollment() {
+        long checkoutStart = LatencyHistogram.start();
+        List<String> resultTexts;
 
-        if (isDisplayed(closePopupBtn)) {
-            click(closePopupBtn);
+        try {
+            if (!checkoutOpen) {
+                click(continueButton);
+            }
+
+            checkoutOpen = false;
+
+            click(enrollButton);
+            lastEnrollClickNanos = System.nanoTime();
+            resultTexts = confirmAndCaptureResults();
+
+            if (resultTexts == null) {
+                awaitResultsOnPage();
+            }
+
+            METRICS.counter(resultTexts != null ? "enrollment_results_network" : "enrollment_results_page").increment();
+        } finally {
+            lastCheckoutNanos = System.nanoTime() - checkoutStart;
+            CHECKOUT_LATENCY.record(lastCheckoutNanos);
         }
 
-        return true;
+        long parseStart = LatencyHistogram.start();
+
+        try {
+            recordResults(resultTexts != null ? resultTexts : readBoxTexts(snapshot(COURSE_BOX_SELECTOR)));
+        } finally {
+            RESULT_PARSE_LATENCY.recordSince(parseStart);
+        }
     }
 
-    private void attemptEnrollment() {
-        click(continueButton);
-        click(enrollButton);
-        click(agreeToTermsButton);
+    // Agrees to the terms and returns the results from the checkout response the moment it arrives, or null when
+    // it can't be captured or doesn't cover every section, in which case the results are read from the page
+    private List<String> confirmAndCaptureResults() {
+        if (!responseCaptureAvailable) {
+            click(agreeToTermsButton);
+
+            return null;
+        }
 
-        waitUntilVisible(By.id("legend_box"));
+        ResponseCapture capture;
 
         try {
-            Thread.sleep(3000);
+            capture = ResponseCapture.open(driver, ENROLL_REQUEST_PATTERN);
+        } catch (RuntimeException e) {
+            // Missing DevTools support won't appear later in the session, so it is only tried once
+            responseCaptureAvailable = false;
+            System.out.println(String.format(MESSAGE_RESPONSE_CAPTURE_UNAVAILABLE, e.getMessage()));
+            click(agreeToTermsButton);
+
+            return null;
+        }
+
+        try (capture) {
+            click(agreeToTermsButton);
+
+            String body = capture.await(ENROLL_RESPONSE_TIMEOUT);
+
+            // No match at all means the checkout goes to a URL the pattern doesn't know, waiting on it again would only add delay
+            if (body == null) {
+                responseCaptureAvailable = false;
+                System.out.println(MESSAGE_RESPONSE_NOT_SEEN);
+
+                return null;
+            }
+
+            List<String> resultTexts = EnrollmentResponseParser.parse(body);
+
+            for (String code : attemptCodes) {
+                if (findBoxText(resultTexts, code) == null) {
+                    return null;
+                }
+            }
+
+            return resultTexts;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+
+            return null;
         }
+    }
 
-        List<WebElement> courseBoxes = findMultiple(By.xpath("//div[contains(@class, 'course_box')]"));
-        Iterator<String> iterator = courseCodes.iterator();
+    private void awaitResultsOnPage() {
+        waitUntilVisible(legendBox);
+        waitUntilPresent(courseBoxes);
+        waitForNetworkIdle();
+    }
 
-        while (iterator.hasNext()) {
-            String code = iterator.next();
-            boolean found = false;
+    private void recordResults(List<String> boxTexts) {
+        List<String> enrolledCodes = new ArrayList<>();
 
-            for (WebElement box : courseBoxes) {
-                if (box.getText().contains(code)) {
-                    found = true;
+        for (String code : attemptCodes) {
+            String boxText = findBoxText(boxTexts, code);
+            EnrollmentResult result = boxText == null ? EnrollmentResult.resultNotFound() : EnrollmentResultParser.parse(boxText);
 
-                    if (processBoxResult(box, code)) {
-                        iterator.remove();
-                    } else {
-                        // logic for refreshing the course that failed to enroll
-                        // WILL IMPLEMENT NEXT SEMESTER (incase course placement is lost due to testing errors)
-                        // try {
-                        //     click(By.xpath(".//button[contains(@title, 'Remove')]"));
+            resultsMissing |= boxText == null;
 
-                        //     System.out.println("Removed " + code + " from cart to refresh for next attempt.");
-                        // } catch (Exception e) {
-                        //     System.out.println("Could not find remove button for " + code);
-                        // }
-                    }
+            enrollmentStatuses.put(code, result);
+            notifySectionResult(code, result);
+            METRICS.recordSectionEvent(code, MetricsRegistry.EVENT_ATTEMPT);
+            METRICS.recordSectionEvent(code, result.getStatus().name().toLowerCase(Locale.ROOT));
+
+            if (result.getStatus() == EnrollmentStatus.ENROLLED) {
+                enrolledCodes.add(code);
+            }
+
+            if (result.isSettled()) {
+                courseCodes.remove(code);
+            } else if (result.getStatus() == EnrollmentStatus.FAILED) {
+                advanceChoice(code);
+            }
+        }
+
+        for (String code : enrolledCodes) {
+            dropAlternatives(code);
+        }
+    }
+
+    // A wait list spot keeps the other sections in play, only an enrollment makes them unnecessary
+    private void dropAlternatives(String enrolledCode) {
+        CourseGroup group = groupsByCode.get(enrolledCode);
+
+        if (group == null || !group.hasAlternatives()) {
+            return;
+        }
+
+        List<String> droppedCodes = new ArrayList<>();
+
+        for (String code : group.getSectionCodes()) {
+            if (!code.equals(enrolledCode) && courseCodes.remove(code)) {
+                enrollmentStatuses.put(code, EnrollmentResult.superseded());
+                notifySectionResult(code, EnrollmentResult.superseded());
+                pendingCartRemovals.add(code);
+                droppedCodes.add(code);
+            }
+        }
+
+        if (!droppedCodes.isEmpty()) {
+            System.out.println(String.format(MESSAGE_ALTERNATIVES_DROPPED, enrolledCode, String.join(", ", droppedCodes)));
+        }
+    }
+
+    // The checkout takes the whole cart, so the current choice of each group is the only one of its sections staged
+    private List<String> selectAttemptCodes() {
+        List<String> selectedCodes = new ArrayList<>(courseCodes.size());
+
+        for (String code : courseCodes) {
+            CourseGroup group = groupsByCode.get(code);
+            String choice = group != null ? chooseSection(group) : code;
+
+            if (!selectedCodes.contains(choice)) {
+                selectedCodes.add(choice);
+            }
+        }
+
+        return selectedCodes;
+    }
+
+    // Keeps the group on its current section while that one is outstanding, otherwise moves on to the next outstanding
+    // one after it. Returns null once the group has nothing left to attempt
+    private String chooseSection(CourseGroup group) {
+        if (group == null) {
+            return null;
+        }
+
+        String choice = groupChoices.get(group);
+
+        if (choice != null && courseCodes.contains(choice)) {
+            return choice;
+        }
+
+        String next = nextOutstanding(group, choice == null ? 0 : group.getSectionCodes().indexOf(choice) + 1);
+
+        if (next != null) {
+            groupChoices.put(group, next);
+        } else {
+            groupChoices.remove(group);
+        }
+
+        return next;
+    }
+
+    // A full section hands the next checkout to the following alternative, wrapping around to the most preferred one
+    private void advanceChoice(String failedCode) {
+        CourseGroup group = groupsByCode.get(failedCode);
+
+        if (group != null && group.hasAlternatives()) {
+            groupChoices.put(group, nextOutstanding(group, group.getSectionCodes().indexOf(failedCode) + 1));
+        }
+    }
+
+    private String nextOutstanding(CourseGroup group, int startIndex) {
+        List<String> codes = group.getSectionCodes();
+
+        for (int offset = 0; offset < codes.size(); offset++) {
+            String code = codes.get((startIndex + offset) % codes.size());
+
+            if (courseCodes.contains(code)) {
+                return code;
+            }
+        }
+
+        return null;
+    }
+
+    // Seats the probe saw win over the current choices, the most preferred open section of each group is staged next
+    private void preferAvailableSections(Set<String> availableCodes) {
+        for (CourseGroup group : new HashSet<>(groupsByCode.values())) {
+            String choice = groupChoices.get(group);
+
+            if (!group.hasAlternatives() || (choice != null && availableCodes.contains(choice))) {
+                continue;
+            }
+
+            for (String code : group.getSectionCodes()) {
+                if (availableCodes.contains(code) && courseCodes.contains(code)) {
+                    groupChoices.put(group, code);
 
                     break;
                 }
             }
+        }
+    }
+
+    // Dropped alternatives and sections of a group waiting their turn would go through the next checkout with the
+    // staged ones. Only sections seen gone from the cart stop being pending and are tried again next cycle, in the
+    // meantime their group stages nothing else so the checkout can't land two of its sections. Returns the cart text
+    // after the removals
+    private String removeUnattemptedFromCart(String cartText) {
+        List<String> removals = new ArrayList<>(pendingCartRemovals);
+
+        for (String code : courseCodes) {
+            if (!attemptCodes.contains(code)) {
+                removals.add(code);
+            }
+        }
+
+        boolean clicked = false;
+
+        for (String code : removals) {
+            if (containsCode(cartText, code) && Boolean.TRUE.equals(executeJavaScript(REMOVE_FROM_CART_SCRIPT, code))) {
+                clicked = true;
+                waitForNetworkIdle();
+            }
+        }
+
+        String remainingText = clicked ? getText(legendBox) : cartText;
 
-            if (!found) {
-                enrollmentStatuses.put(code, BOLD_GRAY_TEXT + "RESULT_NOT_FOUND" + RESET_ANSI);
+        pendingCartRemovals.removeIf(code -> !containsCode(remainingText, code));
+
+        for (String code : removals) {
+            if (containsCode(remainingText, code)) {
+                System.out.println(String.format(MESSAGE_CART_REMOVAL_FAILED, code));
+                holdGroupBack(code);
             }
         }
+
+        return remainingText;
     }
 
-    private boolean processBoxResult(WebElement box, String code) {
-        try {
-            String rawText = box.getText();
-            
-            if (rawText.contains("Failed")) {
-                String reason = "Enrollment Failed";
-                int index = rawText.lastIndexOf("Failed");
-
-                if (index != -1) {
-                    reason = rawText.substring(index + 6).trim().replace("\n", " ");
-                }
+    // The section stuck in the cart goes through the checkout anyway, so an outstanding one is attempted in place of
+    // its group's choice and its result recorded. The other groups are staged as usual
+    private void holdGroupBack(String stuckCode) {
+        CourseGroup group = groupsByCode.get(stuckCode);
 
-                enrollmentStatuses.put(code, BOLD_RED_TEXT + "FAILED: " + RESET_ANSI + reason);
+        if (group != null) {
+            attemptCodes.removeIf(group::contains);
+        }
 
-                return false;
-            } else {
-                String status;
+        if (courseCodes.contains(stuckCode) && !attemptCodes.contains(stuckCode)) {
+            attemptCodes.add(stuckCode);
+        }
+    }
+
+    // Returns true when the sections being attempted changed. Sections settled earlier stay settled, removed ones are
+    // taken out of the cart and alternatives added to a group that already enrolled are superseded right away
+    private boolean applyPendingSettings() {
+        LoopSettings settings = pendingSettings.getAndSet(null);
+
+        if (settings == null) {
+            return false;
+        }
 
-                if (rawText.contains("wait list")) {
-                    status = extractWaitlistPosition(rawText);
-                } else {
-                    status = BOLD_GREEN_TEXT + "ENROLLED" + RESET_ANSI;
+        List<String> previousCodes = new ArrayList<>(courseCodes);
+        Set<String> configuredCodes = new HashSet<>();
+
+        courseCodes.clear();
+        groupsByCode.clear();
+
+        for (CourseGroup group : settings.getCourseGroups()) {
+            String enrolledCode = findEnrolledCode(group);
+
+            for (String code : group.getSectionCodes()) {
+                EnrollmentResult result = enrollmentStatuses.get(code);
+
+                groupsByCode.put(code, group);
+                configuredCodes.add(code);
+
+                if (enrolledCode != null && !code.equals(enrolledCode)) {
+                    if (result == null || result.getStatus() != EnrollmentStatus.SUPERSEDED) {
+                        enrollmentStatuses.put(code, EnrollmentResult.superseded());
+                        notifySectionResult(code, EnrollmentResult.superseded());
+                    }
+                } else if (result == null || result.getStatus() == EnrollmentStatus.SUPERSEDED
+                        || (!result.isSettled() && result.getStatus() != EnrollmentStatus.UNAVAILABLE)) {
+                    enrollmentStatuses.remove(code, EnrollmentResult.superseded());
+                    courseCodes.add(code);
                 }
+            }
+        }
+
+        enrollmentStatuses.keySet().retainAll(configuredCodes);
+        courseNames.keySet().retainAll(configuredCodes);
+        groupChoices.keySet().retainAll(groupsByCode.values());
 
-                enrollmentStatuses.put(code, status);
+        for (String code : previousCodes) {
+            if (!courseCodes.contains(code)) {
+                pendingCartRemovals.add(code);
             }
+        }
 
-            return true;
-        } catch (Exception e) {
-            System.out.println("Extraction error for " + code + ": " + e.getMessage());
+        loopDuration = settings.getDuration();
+        pollingScheduler.setBounds(Duration.ofSeconds(settings.getInterval()), Duration.ofSeconds(settings.getMaxInterval()));
+        checkpointFingerprint = settings.getCheckpointFingerprint();
+        saveCheckpoint();
+
+        System.out.println(String.format(MESSAGE_RECONFIGURED, courseCodes.isEmpty() ? "no sections" : String.join(", ", courseCodes), settings.getInterval()));
+
+        return !previousCodes.equals(courseCodes);
+    }
+
+    private String findEnrolledCode(CourseGroup group) {
+        for (String code : group.getSectionCodes()) {
+            EnrollmentResult result = enrollmentStatuses.get(code);
+
+            if (result != null && result.getStatus() == EnrollmentStatus.ENROLLED) {
+                return code;
+            }
         }
 
-        return false;
+        return null;
     }
 
-    private String extractWaitlistPosition(String text) {
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("position number (\\d+)");
-        java.util.regex.Matcher matcher = pattern.matcher(text);
+    // Cycles save on their own, callers that fire an enrollment outside of a cycle save afterwards
+    public void saveCheckpoint() {
+        if (checkpointStore == null) {
+            return;
+        }
 
-        if (matcher.find()) {
-            return BOLD_YELLOW_TEXT + "WAIT-LISTED:" + RESET_ANSI + " Position #" + matcher.group(1);
+        try {
+            checkpointStore.save(new LoopCheckpoint(checkpointFingerprint, cycleCount, courseCodes, enrollmentStatuses, courseNames, pendingCartRemovals));
+        } catch (IOException e) {
+            System.out.println(String.format(MESSAGE_CHECKPOINT_FAILED, e.getMessage()));
         }
+    }
 
-        return "STATUS_UNKNOWN";
+    private void notifySectionResult(String code, EnrollmentResult result) {
+        for (EnrollmentListener listener : listeners) {
+            try {
+                listener.onSectionResult(code, courseNames.get(code), result);
+            } catch (RuntimeException e) {
+                System.out.println("Enrollment listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static List<String> readBoxTexts(List<ElementSnapshot> resultBoxes) {
+        List<String> boxTexts = new ArrayList<>(resultBoxes.size());
+
+        for (ElementSnapshot box : resultBoxes) {
+            boxTexts.add(box.getText());
+        }
+
+        return boxTexts;
+    }
+
+    private static String findBoxText(List<String> boxTexts, String code) {
+        for (String boxText : boxTexts) {
+            if (containsCode(boxText, code)) {
+                return boxText;
+            }
+        }
+
+        return null;
+    }
+
+    // Matches the code only as a whole number, so 1234 is not found inside 12345
+    static boolean containsCode(String text, String code) {
+        for (int index = text.indexOf(code); index >= 0; index = text.indexOf(code, index + 1)) {
+            int end = index + code.length();
+
+            if ((index == 0 || !Character.isDigit(text.charAt(index - 1))) && (end == text.length() || !Character.isDigit(text.charAt(end)))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String renderStatus(EnrollmentResult result) {
+        return switch (result.getStatus()) {
+            case ENROLLED -> BOLD_GREEN_TEXT + "ENROLLED" + RESET_ANSI;
+            case WAITLISTED -> BOLD_YELLOW_TEXT + "WAIT-LISTED:" + RESET_ANSI
+                    + (result.hasWaitlistPosition() ? " Position #" + result.getWaitlistPosition() : " Position unknown");
+            case FAILED -> BOLD_RED_TEXT + "FAILED: " + RESET_ANSI + result.getFailureReason();
+            case UNAVAILABLE -> BOLD_GRAY_TEXT + "UNAVAILABLE" + RESET_ANSI;
+            case RESULT_NOT_FOUND -> BOLD_GRAY_TEXT + "RESULT_NOT_FOUND" + RESET_ANSI;
+            case SUPERSEDED -> BOLD_GRAY_TEXT + "NOT NEEDED:" + RESET_ANSI + " another section of this course was enrolled";
+        };
     }
 
     private void printEnrollmentStatuses() {
@@ -237,9 +972,9 @@ public class LoopPage extends BasePage {
 
         enrollmentDetails.append(header);
 
-        for (Map.Entry<String, String> entry : enrollmentStatuses.entrySet()) {
+        for (Map.Entry<String, EnrollmentResult> entry : enrollmentStatuses.entrySet()) {
             String code = entry.getKey();
-            String status = entry.getValue();
+            String status = renderStatus(entry.getValue());
             String name = courseNames.getOrDefault(code, "Unknown Course");
 
             enrollmentDetails.append(name).append(" [").append(code).append("] | ").append(status).append("\n");
@@ -251,23 +986,33 @@ public class LoopPage extends BasePage {
         System.out.println(enrollmentDetails.toString());
     }
 
+    // Counts down to the next slot of the polling scheduler, a wake() cuts the wait short
     private void applyCooldown() {
+        long start = LatencyHistogram.start();
+        long deadline = pollingScheduler.nextDeadlineNanos();
+
         try {
-            int totalSleepTime = loopInterval + (int) (Math.random() * 5000);
-            int secondsToWait = totalSleepTime / 1000;
+            long remaining = deadline - System.nanoTime();
 
-            for (int i = secondsToWait; i > 0; i--) {
-                String timeText = i == 1 ? "1 second" : i + " seconds";
+            while (remaining > 0) {
+                long secondsToWait = TimeUnit.NANOSECONDS.toSeconds(remaining + COUNTDOWN_STEP_NANOS - 1);
+                String timeText = secondsToWait == 1 ? "1 second" : secondsToWait + " seconds";
 
                 System.out.print("\rWaiting for " + BOLD_PURPLE_TEXT + timeText + RESET_ANSI + " before next attempt...");
                 System.out.flush();
 
-                Thread.sleep(1000);
+                if (pollingScheduler.awaitDeadline(System.nanoTime() + Math.min(remaining, COUNTDOWN_STEP_NANOS))) {
+                    break;
+                }
+
+                remaining = deadline - System.nanoTime();
             }
 
             System.out.print("\r" + " ".repeat(60) + "\r");
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+        } finally {
+            COOLDOWN_LATENCY.recordSince(start);
         }
     }
 }
@@ -3,10 +3,11 @@ package com.seatsniper.pages;
 import java.util.Set;
 import java.util.Collections;
 
+import com.seatsniper.browser.BrowserSession;
+
 import org.openqa.selenium.By;
 
 public class NavigatePage extends BasePage {
-    private static final long ENROLLMENT_PAGE_WAIT_MS = 3000;
     private static final String TERM_SUFFIX = " Term";
     private static final String TERM_XPATH_TEMPLATE = "//*[contains(text(), '%s')]";
     private final By studentCenterButton = By.id("win0divPTNUI_LAND_REC_GROUPLET$0");
@@ -15,15 +16,25 @@ public class NavigatePage extends BasePage {
     private final By enrollmentAppointmentButton = By.xpath("//span[contains(text(), 'Enrollment Appointment')]/ancestor::a");
     private final By upcomingAppointmentDate = By.id("ENRL_START$0");
     private final By returnButton = By.id("PT_WORK_PT_BUTTON_BACK$IMG");
+    private final By processingIndicator = By.id("WAIT_win0");
+
+    public NavigatePage(BrowserSession session) {
+        super(session);
+    }
+
+    @Override
+    protected By getLoadingIndicator() {
+        return processingIndicator;
+    }
 
-    public String getEnrollmentAppointmentDate(String courseTerm) throws InterruptedException {
+    public String getEnrollmentAppointmentDate(String courseTerm) {
         navigateToEnrollmentAppointments();
         selectTermForAppointment(courseTerm);
         
         return retrieveAppointmentDate();
     }
 
-    private void navigateToEnrollmentAppointments() throws InterruptedException {
+    private void navigateToEnrollmentAppointments() {
         click(coursePlanningButton);
         
         waitUntilVisible(enrollmentAppointmentButton);
@@ -34,7 +45,7 @@ public class NavigatePage extends BasePage {
             click(enrollmentAppointmentButton);
         }
 
-        Thread.sleep(ENROLLMENT_PAGE_WAIT_MS);
+        awaitPageReady();
     }
 
     private void selectTermForAppointment(String courseTerm) {
@@ -57,7 +68,7 @@ public class NavigatePage extends BasePage {
     public ScheduleBuilderPage toScheduleBuilder() {
         click(scheduleBuilderButton);
         
-        return new ScheduleBuilderPage();
+        return new ScheduleBuilderPage(session);
     }
 
     public void backToStudentCenter() {
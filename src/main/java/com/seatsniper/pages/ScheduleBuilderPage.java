@@ -1,6 +1,11 @@
 package com.seatsniper.pages;
 
+import java.time.Duration;
+
+import com.seatsniper.browser.BrowserSession;
+
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 
 public class ScheduleBuilderPage extends BasePage {
     private static final String TERM_CODE_PREFIX = "3";
@@ -14,14 +19,20 @@ public class ScheduleBuilderPage extends BasePage {
     private static final String ERROR_INVALID_TERM_SEASON = "Invalid term season: %s. Expected: Spring, Summer, Fall, or Winter";
     private static final String ERROR_TERM_FORMAT = "Invalid term format. Expected format: 'YYYY Season' (e.g., '2026 Spring')";
 
+    private final By builderTabs = By.id("tab_selected");
+
     private By selectedTermLocator;
 
+    public ScheduleBuilderPage(BrowserSession session) {
+        super(session);
+    }
+
     public void setTerm(String term) {
         String termCode = calculateTermCode(term);
         selectedTermLocator = By.xpath(String.format(TERM_XPATH_TEMPLATE, termCode));
     }
 
-    private String calculateTermCode(String term) {
+    public static String calculateTermCode(String term) {
         int spaceIndex = term.indexOf(" ");
         
         if (spaceIndex == -1 || spaceIndex == 0 || spaceIndex == term.length() - 1) {
@@ -38,7 +49,7 @@ public class ScheduleBuilderPage extends BasePage {
         return TERM_CODE_PREFIX + year + seasonCode;
     }
 
-    private void validateYear(String year) {
+    private static void validateYear(String year) {
         if (year.length() != 4) {
             throw new IllegalArgumentException(ERROR_TERM_FORMAT);
         }
@@ -50,7 +61,7 @@ public class ScheduleBuilderPage extends BasePage {
         }
     }
 
-    private String getSeasonCode(String season) {
+    private static String getSeasonCode(String season) {
         return switch (season) {
             case "Spring" -> TERM_CODE_SPRING;
             case "Summer" -> TERM_CODE_SUMMER;
@@ -63,8 +74,20 @@ public class ScheduleBuilderPage extends BasePage {
     }
 
     public void clickSelectedTerm() {
+        awaitPageReady();
+
         if (isDisplayed(selectedTermLocator)) {
             click(selectedTermLocator);
         }
     }
+
+    public boolean isBuilderLoaded(Duration timeout) {
+        try {
+            waitUntilVisible(builderTabs, timeout);
+
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,6 @@
+package com.seatsniper.pages;
+
+public enum SearchOutcome {
+    FOUND,
+    UNAVAILABLE
+}
@@ -0,0 +1,111 @@
+package com.seatsniper.pages;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import com.seatsniper.browser.ElementCache;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+final class WaitConditions {
+    private static final String READY_STATE_SCRIPT = "return document.readyState;";
+    // The resource timing buffer stops at 250 entries, which a long Schedule Builder session fills. An observer still
+    // sees every entry after that, so it keeps the count (and the bytes TransferStatistics reports) for each document
+    private static final String NETWORK_ACTIVITY_SCRIPT =
+            "var tracker = window.__seatsniperResources;" +
+            "if (!tracker) {" +
+            "  var entries = performance.getEntriesByType('resource');" +
+            "  tracker = window.__seatsniperResources = { count: entries.length, bytes: 0 };" +
+            "  entries.forEach(function (entry) { tracker.bytes += entry.transferSize; });" +
+            "  new PerformanceObserver(function (list) {" +
+            "    list.getEntries().forEach(function (entry) { tracker.count++; tracker.bytes += entry.transferSize; });" +
+            "  }).observe({ type: 'resource' });" +
+            "}" +
+            "return [tracker.count, (window.jQuery && window.jQuery.active) || 0];";
+
+    private static final String READY_STATE_LOADING = "loading";
+    private static final String READY_STATE_COMPLETE = "complete";
+
+    private WaitConditions() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    static ExpectedCondition<Boolean> documentReady(PageLoadStrategy strategy) {
+        return driver -> {
+            if (strategy == PageLoadStrategy.NONE) {
+                return true;
+            }
+
+            Object readyState = ((JavascriptExecutor) driver).executeScript(READY_STATE_SCRIPT);
+
+            if (strategy == PageLoadStrategy.EAGER) {
+                return readyState != null && !READY_STATE_LOADING.equals(readyState);
+            }
+
+            return READY_STATE_COMPLETE.equals(readyState);
+        };
+    }
+
+    // Same check as ExpectedConditions.elementToBeClickable, but a cached handle skips the findElement call
+    static ExpectedCondition<WebElement> clickable(ElementCache cache, By locator, Function<By, WebElement> finder) {
+        return new ExpectedCondition<>() {
+            @Override
+            public WebElement apply(WebDriver driver) {
+                try {
+                    WebElement element = cache.resolve(locator, finder);
+
+                    return element.isDisplayed() && element.isEnabled() ? element : null;
+                } catch (StaleElementReferenceException e) {
+                    cache.invalidateStale(locator);
+
+                    return null;
+                } catch (NoSuchElementException e) {
+                    return null;
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "element to be clickable: " + locator;
+            }
+        };
+    }
+
+    // Stateful: a fresh condition must be created for every wait
+    static ExpectedCondition<Boolean> networkIdle(Duration quietPeriod) {
+        return new ExpectedCondition<>() {
+            private long lastResourceCount = -1;
+            private long stableSinceNanos;
+
+            @Override
+            public Boolean apply(WebDriver driver) {
+                List<?> activity = (List<?>) ((JavascriptExecutor) driver).executeScript(NETWORK_ACTIVITY_SCRIPT);
+                long resourceCount = ((Number) activity.get(0)).longValue();
+                long activeRequests = ((Number) activity.get(1)).longValue();
+                long now = System.nanoTime();
+
+                if (activeRequests > 0 || resourceCount != lastResourceCount) {
+                    lastResourceCount = resourceCount;
+                    stableSinceNanos = now;
+
+                    return false;
+                }
+
+                return now - stableSinceNanos >= quietPeriod.toNanos();
+            }
+
+            @Override
+            public String toString() {
+                return "network to be idle for " + quietPeriod.toMillis() + "ms";
+            }
+        };
+    }
+}
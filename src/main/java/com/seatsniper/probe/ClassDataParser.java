@@ -0,0 +1,73 @@
+package com.seatsniper.probe;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+final class ClassDataParser {
+    private static final String BLOCK_TAG = "block";
+    private static final String ATTRIBUTE_CLASS_NUMBER = "key";
+    private static final String ATTRIBUTE_OPEN_SEATS = "os";
+    private static final String ERROR_MALFORMED_RESPONSE = "Malformed class data response: ";
+
+    // Sections whose open seat count is missing are reported as -1 (unknown)
+    static final int UNKNOWN_OPEN_SEATS = -1;
+
+    private ClassDataParser() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    static Map<String, Integer> parseOpenSeats(String responseBody) throws IOException {
+        Document document = parseDocument(responseBody);
+        NodeList blocks = document.getElementsByTagName(BLOCK_TAG);
+        Map<String, Integer> openSeats = HashMap.newHashMap(blocks.getLength());
+
+        for (int i = 0; i < blocks.getLength(); i++) {
+            Element block = (Element) blocks.item(i);
+            String classNumber = block.getAttribute(ATTRIBUTE_CLASS_NUMBER);
+
+            if (classNumber.isBlank()) {
+                continue;
+            }
+
+            openSeats.merge(classNumber, parseSeatCount(block.getAttribute(ATTRIBUTE_OPEN_SEATS)), Math::max);
+        }
+
+        return openSeats;
+    }
+
+    private static int parseSeatCount(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return UNKNOWN_OPEN_SEATS;
+        }
+    }
+
+    private static Document parseDocument(String responseBody) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+
+            DocumentBuilder builder = factory.newDocumentBuilder();
+
+            return builder.parse(new InputSource(new StringReader(responseBody)));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException(ERROR_MALFORMED_RESPONSE + e.getMessage(), e);
+        }
+    }
+}
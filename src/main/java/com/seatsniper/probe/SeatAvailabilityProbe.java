@@ -0,0 +1,104 @@
+package com.seatsniper.probe;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.Cookie;
+
+public final class SeatAvailabilityProbe {
+    private static final String CLASS_DATA_PATH = "/api/class-data";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(3);
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_UNAUTHORIZED = 401;
+    private static final int HTTP_FORBIDDEN = 403;
+
+    private static final String ERROR_UNEXPECTED_STATUS = "Class data request failed with HTTP status %d";
+    private static final String ERROR_SESSION_EXPIRED = "Class data request was turned away with HTTP status %d, the session has expired";
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final String termCode;
+    private final Supplier<Set<Cookie>> cookieSupplier;
+
+    public SeatAvailabilityProbe(URI baseUri, String termCode, Supplier<Set<Cookie>> cookieSupplier) {
+        this.baseUri = baseUri;
+        this.termCode = termCode;
+        this.cookieSupplier = cookieSupplier;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    // Open seat count per class number, -1 when the response does not say
+    public Map<String, Integer> fetchOpenSeats(Collection<String> classNumbers) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(buildClassDataUri(classNumbers))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Cookie", buildCookieHeader())
+                .GET()
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        if (isSessionExpired(response.statusCode())) {
+            throw new SessionExpiredException(String.format(ERROR_SESSION_EXPIRED, response.statusCode()));
+        }
+        if (response.statusCode() != HTTP_OK) {
+            throw new IOException(String.format(ERROR_UNEXPECTED_STATUS, response.statusCode()));
+        }
+
+        return ClassDataParser.parseOpenSeats(response.body());
+    }
+
+    // Sections the probe could not see are kept so the browser gets to decide on them
+    public Set<String> findAvailableSections(Collection<String> classNumbers) throws IOException, InterruptedException {
+        Map<String, Integer> openSeats = fetchOpenSeats(classNumbers);
+
+        return classNumbers.stream()
+                .filter(code -> openSeats.getOrDefault(code, ClassDataParser.UNKNOWN_OPEN_SEATS) != 0)
+                .collect(Collectors.toSet());
+    }
+
+    // Redirects are not followed, so a lost session shows up as the redirect to the login page itself
+    private static boolean isSessionExpired(int statusCode) {
+        return (statusCode >= 300 && statusCode < 400) || statusCode == HTTP_UNAUTHORIZED || statusCode == HTTP_FORBIDDEN;
+    }
+
+    private URI buildClassDataUri(Collection<String> classNumbers) {
+        StringBuilder query = new StringBuilder("term=").append(encode(termCode));
+        int index = 0;
+
+        for (String classNumber : classNumbers) {
+            query.append("&course_").append(index++).append("_0=").append(encode(classNumber));
+        }
+
+        // Schedule Builder rejects data requests without its rolling time window parameters
+        long window = (System.currentTimeMillis() / 60000) % 1000;
+        long checksum = window % 3 + window % 39 + window % 42;
+
+        query.append("&t=").append(window).append("&e=").append(checksum);
+
+        return baseUri.resolve(CLASS_DATA_PATH + "?" + query);
+    }
+
+    private String buildCookieHeader() {
+        return cookieSupplier.get().stream()
+                .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,12 @@
+package com.seatsniper.probe;
+
+import java.io.IOException;
+
+// Schedule Builder answers data requests from a logged out session with a redirect to the login page
+public final class SessionExpiredException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public SessionExpiredException(String message) {
+        super(message);
+    }
+}
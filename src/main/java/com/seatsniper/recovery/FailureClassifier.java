@@ -0,0 +1,75 @@
+package com.seatsniper.recovery;
+
+import java.net.URI;
+import java.util.Locale;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+
+public final class FailureClassifier {
+    private static final String[] LOGIN_MARKERS = { "login", "signin", "sso", "mfa" };
+    private static final String[] DEAD_BROWSER_MARKERS = { "chrome not reachable", "disconnected", "target window already closed", "session deleted" };
+
+    private FailureClassifier() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    // The page the browser ended up on decides whether a failed lookup was a slow page or a lost session
+    public static FailureKind classify(Throwable failure, String currentUrl, String scheduleBuilderUrl) {
+        if (failure instanceof NoSuchSessionException || currentUrl == null || mentionsAny(failure.getMessage(), DEAD_BROWSER_MARKERS)) {
+            return FailureKind.HARD_FAILURE;
+        }
+        if (!(failure instanceof WebDriverException)) {
+            return FailureKind.HARD_FAILURE;
+        }
+        if (isOffScheduleBuilder(currentUrl, scheduleBuilderUrl)) {
+            return FailureKind.SESSION_EXPIRED;
+        }
+        if (failure instanceof StaleElementReferenceException) {
+            return FailureKind.STALE_DOM;
+        }
+
+        // Timeouts, missing or covered elements and unexpected popups leave the session intact, a reload clears them
+        return FailureKind.TRANSIENT_TIMEOUT;
+    }
+
+    private static boolean isOffScheduleBuilder(String currentUrl, String scheduleBuilderUrl) {
+        String lowerUrl = currentUrl.toLowerCase(Locale.ROOT);
+
+        for (String marker : LOGIN_MARKERS) {
+            if (lowerUrl.contains(marker)) {
+                return true;
+            }
+        }
+
+        if (scheduleBuilderUrl == null) {
+            return false;
+        }
+
+        try {
+            String expectedHost = URI.create(scheduleBuilderUrl).getHost();
+            String actualHost = URI.create(currentUrl).getHost();
+
+            return expectedHost != null && !expectedHost.equalsIgnoreCase(actualHost);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean mentionsAny(String message, String[] markers) {
+        if (message == null) {
+            return false;
+        }
+
+        String lowerMessage = message.toLowerCase(Locale.ROOT);
+
+        for (String marker : markers) {
+            if (lowerMessage.contains(marker)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,9 @@
+package com.seatsniper.recovery;
+
+// Ordered by how much has to be redone to recover, the watchdog escalates down this list
+public enum FailureKind {
+    STALE_DOM,
+    TRANSIENT_TIMEOUT,
+    SESSION_EXPIRED,
+    HARD_FAILURE
+}
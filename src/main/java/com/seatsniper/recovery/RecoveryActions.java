@@ -0,0 +1,17 @@
+package com.seatsniper.recovery;
+
+// What the watchdog can do to the browser, each step redoes more of the setup than the one before
+public interface RecoveryActions {
+    // Null when the browser cannot be reached
+    String currentUrl();
+
+    String scheduleBuilderUrl();
+
+    // Drops cached element handles and page state, then waits for the Schedule Builder that is already open
+    void resetPage();
+
+    void reloadScheduleBuilder();
+
+    // Logs in again in the same browser and returns to the Schedule Builder term
+    void reauthenticate() throws Exception;
+}
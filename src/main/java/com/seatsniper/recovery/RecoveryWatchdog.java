@@ -0,0 +1,161 @@
+package com.seatsniper.recovery;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.seatsniper.metrics.LatencyHistogram;
+import com.seatsniper.metrics.MetricsRegistry;
+
+// Keeps the enrollment loop alive through failures. Each failure is classified and the lightest step that can
+// fix it is tried first, escalating to heavier ones when it fails or the same incident keeps recurring
+public final class RecoveryWatchdog {
+    private static final int MAX_ATTEMPTS_PER_INCIDENT = 6;
+    // Every this many attempts within one incident the first recovery step tried moves one level heavier
+    private static final int ATTEMPTS_PER_ESCALATION = 2;
+    private static final long BASE_BACKOFF_MILLIS = 2000;
+    private static final long MAX_BACKOFF_MILLIS = 30000;
+
+    private static final String HEADER_TEXT = "----- RECOVERY -----";
+    private static final String MESSAGE_FAILURE = "\nCycle failed (%s: %s), attempt %d of %d at recovering in place.";
+    private static final String MESSAGE_STEP_FAILED = "Recovery by %s failed: %s";
+    private static final String MESSAGE_RECOVERED = "Recovered after %dms, resuming enrollment.";
+    private static final String MESSAGE_GIVING_UP = "Could not recover from %s, stopping.";
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final LatencyHistogram RECOVERY_LATENCY = METRICS.phaseLatency("recovery");
+
+    private final RecoveryActions actions;
+    private final Map<FailureKind, Long> failureCounts = new EnumMap<>(FailureKind.class);
+
+    private long incidentStartNanos = -1;
+    private int incidentAttempts;
+    private long incidents;
+    private long recoveredIncidents;
+    private long totalRecoveryNanos;
+    private long maxRecoveryNanos;
+
+    public RecoveryWatchdog(RecoveryActions actions) {
+        this.actions = actions;
+    }
+
+    // Closes an open incident; recovery time runs from the first failure to the next cycle that completes
+    public synchronized void recordSuccess() {
+        if (incidentStartNanos < 0) {
+            return;
+        }
+
+        long recoveryNanos = System.nanoTime() - incidentStartNanos;
+
+        recoveredIncidents++;
+        totalRecoveryNanos += recoveryNanos;
+        maxRecoveryNanos = Math.max(maxRecoveryNanos, recoveryNanos);
+        RECOVERY_LATENCY.record(recoveryNanos);
+        incidentStartNanos = -1;
+
+        System.out.println(String.format(MESSAGE_RECOVERED, TimeUnit.NANOSECONDS.toMillis(recoveryNanos)));
+    }
+
+    // Returns once the browser is back on the Schedule Builder, rethrows the failure when that is not possible in place
+    public synchronized void recover(RuntimeException failure) {
+        recover(failure, FailureClassifier.classify(failure, actions.currentUrl(), actions.scheduleBuilderUrl()));
+    }
+
+    // For failures seen outside the browser, where the caller already knows what went wrong
+    public synchronized void recover(RuntimeException failure, FailureKind kind) {
+        failureCounts.merge(kind, 1L, Long::sum);
+        METRICS.counter("recovery_" + kind.name().toLowerCase(Locale.ROOT)).increment();
+
+        if (incidentStartNanos < 0) {
+            incidentStartNanos = System.nanoTime();
+            incidentAttempts = 0;
+            incidents++;
+        }
+
+        incidentAttempts++;
+
+        System.out.println(String.format(MESSAGE_FAILURE, kind, failure.getClass().getSimpleName(), incidentAttempts, MAX_ATTEMPTS_PER_INCIDENT));
+
+        if (kind == FailureKind.HARD_FAILURE || incidentAttempts > MAX_ATTEMPTS_PER_INCIDENT) {
+            giveUp(failure, kind);
+        }
+
+        backOff(failure, kind);
+
+        int firstStep = Math.min(kind.ordinal() + (incidentAttempts - 1) / ATTEMPTS_PER_ESCALATION, FailureKind.SESSION_EXPIRED.ordinal());
+
+        for (int step = firstStep; step <= FailureKind.SESSION_EXPIRED.ordinal(); step++) {
+            FailureKind stepKind = FailureKind.values()[step];
+
+            try {
+                apply(stepKind);
+
+                return;
+            } catch (Exception e) {
+                System.out.println(String.format(MESSAGE_STEP_FAILED, describe(stepKind), e.getMessage()));
+            }
+        }
+
+        giveUp(failure, kind);
+    }
+
+    public synchronized String summary() {
+        StringBuilder summary = new StringBuilder();
+
+        summary.append("\n").append(HEADER_TEXT).append("\n\n");
+        summary.append(String.format("incidents=%d recovered=%d", incidents, recoveredIncidents));
+
+        if (recoveredIncidents > 0) {
+            summary.append(String.format(" mttr=%dms max=%dms",
+                    TimeUnit.NANOSECONDS.toMillis(totalRecoveryNanos / recoveredIncidents),
+                    TimeUnit.NANOSECONDS.toMillis(maxRecoveryNanos)));
+        }
+
+        summary.append("\n");
+        failureCounts.forEach((kind, count) -> summary.append(String.format("  %-18s %d%n", kind, count)));
+        summary.append("\n").append("-".repeat(HEADER_TEXT.length())).append("\n");
+
+        return summary.toString();
+    }
+
+    private void apply(FailureKind step) throws Exception {
+        switch (step) {
+            case STALE_DOM -> actions.resetPage();
+            case TRANSIENT_TIMEOUT -> actions.reloadScheduleBuilder();
+            case SESSION_EXPIRED -> actions.reauthenticate();
+            case HARD_FAILURE -> throw new IllegalStateException("A hard failure has no recovery step");
+        }
+    }
+
+    private static String describe(FailureKind step) {
+        return switch (step) {
+            case STALE_DOM -> "resetting the page";
+            case TRANSIENT_TIMEOUT -> "reloading the Schedule Builder";
+            case SESSION_EXPIRED -> "logging in again";
+            case HARD_FAILURE -> "nothing";
+        };
+    }
+
+    // Repeated failures in one incident wait longer each time so a struggling server is not hammered
+    private void backOff(RuntimeException failure, FailureKind kind) {
+        if (incidentAttempts == 1) {
+            return;
+        }
+
+        long backoffMillis = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(incidentAttempts - 2, 10));
+
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            giveUp(failure, kind);
+        }
+    }
+
+    private static void giveUp(RuntimeException failure, FailureKind kind) {
+        System.out.println(String.format(MESSAGE_GIVING_UP, kind));
+
+        throw failure;
+    }
+}
@@ -0,0 +1,168 @@
+package com.seatsniper.timing;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Paces enrollment cycles on a fixed grid that does not drift with cycle length. The period doubles when
+// the server slows down or errors, and shrinks by a fixed step back toward the floor once responses recover
+public final class AdaptivePollingScheduler {
+    private static final double FAST_ALPHA = 0.3;
+    private static final double BASELINE_ALPHA = 0.05;
+    private static final double ERROR_ALPHA = 0.3;
+    private static final double LATENCY_TOLERANCE = 1.5;
+    private static final double ERROR_TOLERANCE = 0.2;
+    private static final double BACKOFF_FACTOR = 2.0;
+    private static final double RECOVERY_STEP_FRACTION = 0.25;
+    private static final double JITTER_FRACTION = 0.1;
+    private static final long MAX_JITTER_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Object wakeLock = new Object();
+
+    private long floorNanos;
+    private long ceilingNanos;
+    private long recoveryStepNanos;
+    private long periodNanos;
+    private long anchorNanos;
+    private boolean anchored;
+    private double fastLatencyNanos = -1;
+    private double baselineLatencyNanos = -1;
+    private double errorRate;
+    private boolean wakeRequested;
+
+    public AdaptivePollingScheduler(Duration floor, Duration ceiling) {
+        setBounds(floor, ceiling);
+        this.periodNanos = floorNanos;
+    }
+
+    // Moves the floor and ceiling, the current period is clamped into the new range but keeps its backoff otherwise
+    public synchronized void setBounds(Duration floor, Duration ceiling) {
+        if (floor.isNegative() || floor.isZero()) {
+            throw new IllegalArgumentException("Polling floor must be positive, got: " + floor);
+        }
+        if (ceiling.compareTo(floor) < 0) {
+            throw new IllegalArgumentException("Polling ceiling must not be below the floor, got: " + ceiling);
+        }
+
+        this.floorNanos = floor.toNanos();
+        this.ceilingNanos = ceiling.toNanos();
+        this.recoveryStepNanos = Math.max(1, (long) (floorNanos * RECOVERY_STEP_FRACTION));
+        this.periodNanos = Math.min(ceilingNanos, Math.max(floorNanos, periodNanos));
+    }
+
+    // Marks when a cycle began, the next one is due a period after this rather than after the cycle ends. A cycle
+    // started by a caller that only peeked at the deadline claims its slot here
+    public synchronized void cycleStarted(long startNanos) {
+        if (!anchored) {
+            anchorNanos = startNanos;
+            anchored = true;
+
+            return;
+        }
+
+        long dueNanos = anchorNanos + periodNanos;
+
+        if (startNanos >= dueNanos) {
+            anchorNanos = startNanos - dueNanos >= periodNanos ? startNanos : dueNanos;
+        }
+    }
+
+    // serverNanos is the part of the cycle spent waiting on CUNYfirst, errored marks a cycle that did not get results.
+    // Returns true when the period changed
+    public synchronized boolean recordCycle(long serverNanos, boolean errored) {
+        long previousPeriod = periodNanos;
+
+        errorRate += ERROR_ALPHA * ((errored ? 1 : 0) - errorRate);
+
+        if (!errored) {
+            if (baselineLatencyNanos < 0) {
+                fastLatencyNanos = serverNanos;
+                baselineLatencyNanos = serverNanos;
+            } else {
+                fastLatencyNanos += FAST_ALPHA * (serverNanos - fastLatencyNanos);
+                // The baseline follows drops at once and rises slowly, so a slowdown stands out against it
+                baselineLatencyNanos = serverNanos < baselineLatencyNanos
+                        ? serverNanos
+                        : baselineLatencyNanos + BASELINE_ALPHA * (serverNanos - baselineLatencyNanos);
+            }
+        }
+
+        boolean congested = errorRate > ERROR_TOLERANCE
+                || (baselineLatencyNanos > 0 && fastLatencyNanos > baselineLatencyNanos * LATENCY_TOLERANCE);
+
+        periodNanos = congested
+                ? Math.min(ceilingNanos, (long) (periodNanos * BACKOFF_FACTOR))
+                : Math.max(floorNanos, periodNanos - recoveryStepNanos);
+
+        return periodNanos != previousPeriod;
+    }
+
+    public synchronized Duration getPeriod() {
+        return Duration.ofNanos(periodNanos);
+    }
+
+    // Claims the next cycle slot on the grid
+    public synchronized long nextDeadlineNanos() {
+        return claimSlot(periodNanos);
+    }
+
+    // Claims the next probe slot, probes run on the same grid as cycles with their own step
+    public synchronized long nextProbeDeadlineNanos(Duration probeInterval) {
+        return claimSlot(probeInterval.toNanos());
+    }
+
+    // When the next cycle is due without claiming it, for callers that schedule cycles themselves; cycleStarted claims
+    // the slot once the cycle runs
+    public synchronized long peekDeadlineNanos() {
+        long now = System.nanoTime();
+
+        return anchored ? Math.max(anchorNanos + periodNanos, now) : now;
+    }
+
+    // A cycle that overran its slot starts the grid again from now instead of bursting to catch up; the jitter only
+    // moves this one deadline, never the grid
+    private long claimSlot(long stepNanos) {
+        long now = System.nanoTime();
+
+        anchorNanos = anchored ? anchorNanos + stepNanos : now;
+        anchored = true;
+
+        if (anchorNanos < now) {
+            anchorNanos = now;
+        }
+
+        long maxJitter = Math.min(MAX_JITTER_NANOS, (long) (stepNanos * JITTER_FRACTION));
+
+        return anchorNanos + (maxJitter > 0 ? ThreadLocalRandom.current().nextLong(maxJitter) : 0);
+    }
+
+    // Waits until the deadline or a wake() call, returns true when woken early
+    public boolean awaitDeadline(long deadlineNanos) throws InterruptedException {
+        synchronized (wakeLock) {
+            long remaining = deadlineNanos - System.nanoTime();
+
+            while (!wakeRequested && remaining > 0) {
+                TimeUnit.NANOSECONDS.timedWait(wakeLock, remaining);
+                remaining = deadlineNanos - System.nanoTime();
+            }
+
+            boolean woken = wakeRequested;
+
+            wakeRequested = false;
+
+            return woken;
+        }
+    }
+
+    // Lets the waiting cycle start now, e.g. when a seat was just seen; the grid restarts from the woken cycle
+    public void wake() {
+        synchronized (this) {
+            anchored = false;
+        }
+
+        synchronized (wakeLock) {
+            wakeRequested = true;
+            wakeLock.notifyAll();
+        }
+    }
+}
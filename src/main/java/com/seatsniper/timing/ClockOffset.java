@@ -0,0 +1,32 @@
+package com.seatsniper.timing;
+
+import java.time.Clock;
+import java.time.Duration;
+
+// Server time minus local time, the true offset lies within offset +/- uncertainty
+public final class ClockOffset {
+    private final Duration offset;
+    private final Duration uncertainty;
+
+    public ClockOffset(Duration offset, Duration uncertainty) {
+        this.offset = offset;
+        this.uncertainty = uncertainty;
+    }
+
+    public Duration getOffset() {
+        return offset;
+    }
+
+    public Duration getUncertainty() {
+        return uncertainty;
+    }
+
+    public Clock correct(Clock localClock) {
+        return Clock.offset(localClock, offset);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%+dms (+/-%dms)", offset.toMillis(), uncertainty.toMillis());
+    }
+}
@@ -0,0 +1,146 @@
+package com.seatsniper.timing;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.Cookie;
+
+// Estimates the server's clock offset from its HTTP Date headers, which only have one second resolution.
+// Each sample bounds the offset to [date - received, date + 1s - sent], spacing the samples a fraction of a second
+// apart walks the send time across a second boundary, and intersecting the bounds narrows the estimate to about one round trip.
+public final class ClockOffsetEstimator {
+    private static final int SAMPLE_COUNT = 8;
+    private static final Duration DATE_RESOLUTION = Duration.ofSeconds(1);
+    private static final Duration SAMPLE_SPACING = DATE_RESOLUTION.plus(DATE_RESOLUTION.dividedBy(SAMPLE_COUNT));
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(3);
+
+    private static final String ERROR_NO_SAMPLES = "The server at %s did not return any usable Date headers";
+
+    private final HttpClient httpClient;
+    private final URI serverUri;
+    private final Supplier<Set<Cookie>> cookieSupplier;
+    private final Clock localClock;
+
+    public ClockOffsetEstimator(URI serverUri, Supplier<Set<Cookie>> cookieSupplier) {
+        this(serverUri, cookieSupplier, Clock.systemUTC());
+    }
+
+    // The local clock can be swapped to check the estimate against a server with a known skew
+    public ClockOffsetEstimator(URI serverUri, Supplier<Set<Cookie>> cookieSupplier, Clock localClock) {
+        this.serverUri = serverUri;
+        this.cookieSupplier = cookieSupplier;
+        this.localClock = localClock;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    public ClockOffset estimate() throws IOException, InterruptedException {
+        long lowerBoundNanos = Long.MIN_VALUE;
+        long upperBoundNanos = Long.MAX_VALUE;
+        ClockOffset fastestSample = null;
+        long fastestRoundTripNanos = Long.MAX_VALUE;
+        IOException lastFailure = null;
+
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            if (i > 0) {
+                Thread.sleep(SAMPLE_SPACING.toMillis());
+            }
+
+            Instant sentAt;
+            Instant receivedAt;
+            HttpResponse<Void> response;
+
+            try {
+                sentAt = localClock.instant();
+                response = httpClient.send(buildRequest(), HttpResponse.BodyHandlers.discarding());
+                receivedAt = localClock.instant();
+            } catch (IOException e) {
+                lastFailure = e;
+
+                continue;
+            }
+
+            Instant serverTime = parseDateHeader(response);
+
+            if (serverTime == null) {
+                continue;
+            }
+
+            long lowerNanos = Duration.between(receivedAt, serverTime).toNanos();
+            long upperNanos = Duration.between(sentAt, serverTime.plus(DATE_RESOLUTION)).toNanos();
+            long roundTripNanos = Duration.between(sentAt, receivedAt).toNanos();
+
+            lowerBoundNanos = Math.max(lowerBoundNanos, lowerNanos);
+            upperBoundNanos = Math.min(upperBoundNanos, upperNanos);
+
+            if (roundTripNanos < fastestRoundTripNanos) {
+                fastestRoundTripNanos = roundTripNanos;
+                fastestSample = fromBounds(lowerNanos, upperNanos);
+            }
+        }
+
+        if (fastestSample == null) {
+            throw new IOException(String.format(ERROR_NO_SAMPLES, serverUri), lastFailure);
+        }
+
+        // Disjoint bounds mean the server clock stepped between samples, the least delayed sample is the best guess left
+        if (lowerBoundNanos > upperBoundNanos) {
+            return fastestSample;
+        }
+
+        return fromBounds(lowerBoundNanos, upperBoundNanos);
+    }
+
+    private HttpRequest buildRequest() {
+        HttpRequest.Builder request = HttpRequest.newBuilder(serverUri)
+                .timeout(REQUEST_TIMEOUT)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody());
+        String cookieHeader = buildCookieHeader();
+
+        if (!cookieHeader.isEmpty()) {
+            request.header("Cookie", cookieHeader);
+        }
+
+        return request.build();
+    }
+
+    private String buildCookieHeader() {
+        return cookieSupplier.get().stream()
+                .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                .collect(Collectors.joining("; "));
+    }
+
+    private static Instant parseDateHeader(HttpResponse<?> response) {
+        return response.headers().firstValue("Date")
+                .map(ClockOffsetEstimator::parseHttpDate)
+                .orElse(null);
+    }
+
+    private static Instant parseHttpDate(String value) {
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static ClockOffset fromBounds(long lowerNanos, long upperNanos) {
+        long midpoint = lowerNanos + (upperNanos - lowerNanos) / 2;
+
+        return new ClockOffset(Duration.ofNanos(midpoint), Duration.ofNanos((upperNanos - lowerNanos) / 2));
+    }
+}
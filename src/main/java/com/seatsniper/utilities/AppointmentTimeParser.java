@@ -0,0 +1,23 @@
+package com.seatsniper.utilities;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+public final class AppointmentTimeParser {
+    public static final ZoneId ENROLLMENT_TIMEZONE = ZoneId.of("America/New_York");
+
+    // Built once, DateTimeFormatter is immutable and thread-safe
+    private static final DateTimeFormatter SITE_DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy\nh:mma", Locale.ENGLISH);
+
+    private AppointmentTimeParser() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    // Parses the appointment as CUNYfirst displays it, e.g. "January 8, 2026\n9:30AM"
+    public static ZonedDateTime parse(String siteDateString) {
+        return LocalDateTime.parse(siteDateString.trim(), SITE_DATE_FORMATTER).atZone(ENROLLMENT_TIMEZONE);
+    }
+}
@@ -0,0 +1,31 @@
+package com.seatsniper.utilities;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+public final class AppointmentTimer {
+    private static final Duration MAX_SLEEP_CHUNK = Duration.ofMinutes(1);
+    private static final Duration SPIN_THRESHOLD = Duration.ofMillis(20);
+
+    private AppointmentTimer() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    // Sleeps in chunks so a suspended machine or clock correction is caught, then spins the last few milliseconds for precision
+    public static void sleepUntil(Instant target, Clock clock) throws InterruptedException {
+        Duration remaining = Duration.between(clock.instant(), target);
+
+        while (remaining.compareTo(SPIN_THRESHOLD) > 0) {
+            Duration sleepTime = remaining.minus(SPIN_THRESHOLD);
+
+            Thread.sleep(sleepTime.compareTo(MAX_SLEEP_CHUNK) < 0 ? sleepTime.toMillis() : MAX_SLEEP_CHUNK.toMillis());
+
+            remaining = Duration.between(clock.instant(), target);
+        }
+
+        while (clock.instant().isBefore(target)) {
+            Thread.onSpinWait();
+        }
+    }
+}
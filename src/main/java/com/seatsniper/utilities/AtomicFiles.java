@@ -0,0 +1,69 @@
+package com.seatsniper.utilities;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+public final class AtomicFiles {
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rw-------");
+    private static final Set<OpenOption> CREATE_OPTIONS = Set.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+    private AtomicFiles() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    // Replaces the file so a crash mid-write leaves the previous version intact. The data has to be on disk before the
+    // rename, otherwise a power loss can leave an empty file under the final name. An owner-only file is created
+    // readable by its owner alone on file systems with POSIX permissions
+    public static void replace(Path file, byte[] content, boolean ownerOnly) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporaryFile = directory.resolve(file.getFileName() + TEMPORARY_SUFFIX);
+
+        Files.createDirectories(directory);
+        // A leftover from a crash could have looser permissions, creating the file anew applies the ones asked for
+        Files.deleteIfExists(temporaryFile);
+
+        try (FileChannel channel = create(temporaryFile, ownerOnly)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(true);
+        }
+
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+    }
+
+    private static FileChannel create(Path file, boolean ownerOnly) throws IOException {
+        if (ownerOnly) {
+            try {
+                return FileChannel.open(file, CREATE_OPTIONS, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+            } catch (UnsupportedOperationException e) {
+                // Not a POSIX file system, the file gets the directory's default access
+            }
+        }
+
+        return FileChannel.open(file, CREATE_OPTIONS);
+    }
+
+    // Makes the rename itself durable, directories can't be opened on Windows where the move is already durable
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on this platform
+        }
+    }
+}
@@ -3,26 +3,33 @@ package com.seatsniper.utilities;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.seatsniper.UserData;
+import com.seatsniper.browser.BrowserProfile;
+import com.seatsniper.browser.SessionPersistence;
+import com.seatsniper.enrollment.CourseGroup;
 
 public final class ConfigurationLoader {
     private static final Logger LOGGER = Logger.getLogger(ConfigurationLoader.class.getName());
     
-    private static final String CONFIG_FILE_PATH = "src\\main\\resources\\user_config.properties";
+    public static final Path DEFAULT_CONFIG_PATH = Paths.get("src", "main", "resources", "user_config.properties");
     
     private static final String KEY_DRIVER_PATH = "driverPath";
     private static final String KEY_BROWSER_PATH = "browserPath";
@@ -31,15 +38,25 @@ public final class ConfigurationLoader {
     private static final String KEY_AUTHENTICATOR_NAME = "authenticator_name";
     private static final String KEY_AUTHENTICATION_KEY = "authentication_key";
     private static final String KEY_INTERVAL = "interval";
+    private static final String KEY_MAX_INTERVAL = "maxInterval";
     private static final String KEY_TERM = "term";
     private static final String KEY_COURSE_CODES = "courseCodes";
     private static final String KEY_DURATION = "maxDuration";
+    private static final String KEY_PROBE_INTERVAL = "probeInterval";
+    private static final String KEY_BROWSER_PROFILE = "browserProfile";
+    private static final String KEY_SESSION_PERSISTENCE = "sessionPersistence";
+    private static final String KEY_SCHEDULER_LEAD_TIME = "schedulerLeadTime";
+    private static final String KEY_METRICS_PORT = "metricsPort";
+    private static final String KEY_WEBHOOK_URLS = "webhookUrls";
     
     private static final int MIN_RECOMMENDED_INTERVAL = 30;
     private static final int MAX_COURSE_CODES = 7;
     private static final String EMAIL_DOMAIN = "@login.cuny.edu";
     private static final Pattern TERM_PATTERN = Pattern.compile("(\\d{4})\\s+(Spring|Summer|Fall|Winter)", Pattern.CASE_INSENSITIVE);
     private static final String COURSE_CODE_SEPARATOR = ",";
+    private static final String ALTERNATIVE_SEPARATOR = "|";
+    private static final int MAX_ALTERNATIVES = 5;
+    private static final String WEBHOOK_URL_SEPARATOR = ",";
     
     private static final String ERROR_CONFIG_FILE_NOT_FOUND = "Configuration file not found: %s";
     private static final String ERROR_DRIVER_PATH_INVALID = "The driver path provided is invalid.";
@@ -55,6 +72,9 @@ public final class ConfigurationLoader {
     private static final String ERROR_COURSE_CODES_MISSING = "No course codes provided (at least 1 is required). Check the 'ReadMe' to learn how to find course codes.";
     private static final String ERROR_COURSE_CODES_EMPTY = "Course codes list is empty after parsing. Make sure you entered them correctly.";
     private static final String ERROR_COURSE_CODES_MAX = "Maximum of " + MAX_COURSE_CODES + " course codes allowed.";
+    private static final String ERROR_ALTERNATIVES_MAX = "Maximum of " + MAX_ALTERNATIVES + " alternative sections allowed per course, got: %s";
+    private static final String ERROR_COURSE_CODE_DUPLICATE = "Section %s is listed more than once in courseCodes.";
+    private static final String ERROR_WEBHOOK_URL_INVALID = "Webhook URLs must be absolute http or https URLs, got: %s";
     private static final String WARNING_INTERVAL_LOW = "An interval value less than the recommended was entered. If any problems arise, consider using the recommended value.";
     private static final String WARNING_DURATION_INVALID = "Duration provided is not a positive integer. Using the default value for an infinite duration.";
     
@@ -63,7 +83,11 @@ public final class ConfigurationLoader {
     }
     
     public static UserData loadData() throws IOException {
-        Properties properties = loadProperties();
+        return loadData(DEFAULT_CONFIG_PATH);
+    }
+
+    public static UserData loadData(Path configPath) throws IOException {
+        Properties properties = loadProperties(configPath);
         
         String driverPath = validateAndGetDriverPath(properties);
         String browserPath = validateAndGetBrowserPath(properties);
@@ -73,19 +97,53 @@ public final class ConfigurationLoader {
         String authenticatorName = validateAndGetAuthenticatorName(properties);
         String authenticationKey = validateAndGetAuthenticationKey(properties);
         String term = validateAndGetTerm(properties);
-        Set<String> courseCodes = validateAndGetCourseCodes(properties);
+        List<CourseGroup> courseGroups = validateAndGetCourseGroups(properties);
         int interval = validateAndGetInterval(properties);
+        int maxInterval = validateAndGetMaxInterval(properties);
         int duration = validateAndGetDuration(properties);
+        int probeInterval = validateAndGetProbeInterval(properties);
+        BrowserProfile browserProfile = validateAndGetBrowserProfile(properties);
+        SessionPersistence sessionPersistence = validateAndGetSessionPersistence(properties);
+        int schedulerLeadTime = validateAndGetSchedulerLeadTime(properties);
+        int metricsPort = validateAndGetMetricsPort(properties);
+        List<URI> webhookUrls = validateAndGetWebhookUrls(properties);
         
-        return new UserData(driverPath, browserPath, username, password, authenticatorName, authenticationKey, term, courseCodes, interval, duration);
+        return new UserData(driverPath, browserPath, username, password, authenticatorName, authenticationKey, term, courseGroups, interval, maxInterval, duration, probeInterval, browserProfile, sessionPersistence, schedulerLeadTime, metricsPort, webhookUrls);
     }
 
-    private static Properties loadProperties() throws IOException {
+    // Keys whose new value only takes effect after a restart, such as credentials or the term; a running loop can
+    // take over changed course codes, intervals and duration
+    public static List<String> findRestartOnlyChanges(UserData current, UserData updated) {
+        List<String> changedKeys = new ArrayList<>();
+
+        addIfChanged(changedKeys, KEY_DRIVER_PATH, current.getDriverPath(), updated.getDriverPath());
+        addIfChanged(changedKeys, KEY_BROWSER_PATH, current.getBrowserPath(), updated.getBrowserPath());
+        addIfChanged(changedKeys, KEY_USERNAME, current.getUsername(), updated.getUsername());
+        addIfChanged(changedKeys, KEY_PASSWORD, current.getPassword(), updated.getPassword());
+        addIfChanged(changedKeys, KEY_AUTHENTICATOR_NAME, current.getAuthenticatorName(), updated.getAuthenticatorName());
+        addIfChanged(changedKeys, KEY_AUTHENTICATION_KEY, current.getAuthenticationKey(), updated.getAuthenticationKey());
+        addIfChanged(changedKeys, KEY_TERM, current.getCourseTerm(), updated.getCourseTerm());
+        addIfChanged(changedKeys, KEY_PROBE_INTERVAL, current.getProbeInterval(), updated.getProbeInterval());
+        addIfChanged(changedKeys, KEY_BROWSER_PROFILE, current.getBrowserProfile(), updated.getBrowserProfile());
+        addIfChanged(changedKeys, KEY_SESSION_PERSISTENCE, current.getSessionPersistence(), updated.getSessionPersistence());
+        addIfChanged(changedKeys, KEY_SCHEDULER_LEAD_TIME, current.getSchedulerLeadTime(), updated.getSchedulerLeadTime());
+        addIfChanged(changedKeys, KEY_METRICS_PORT, current.getMetricsPort(), updated.getMetricsPort());
+        addIfChanged(changedKeys, KEY_WEBHOOK_URLS, current.getWebhookUrls(), updated.getWebhookUrls());
+
+        return changedKeys;
+    }
+
+    private static void addIfChanged(List<String> changedKeys, String key, Object current, Object updated) {
+        if (!Objects.equals(current, updated)) {
+            changedKeys.add(key);
+        }
+    }
+
+    private static Properties loadProperties(Path configPath) throws IOException {
         Properties properties = new Properties();
-        Path configPath = Paths.get(CONFIG_FILE_PATH);
         
         if (!Files.exists(configPath)) {
-            throw new FileNotFoundException(String.format(ERROR_CONFIG_FILE_NOT_FOUND, CONFIG_FILE_PATH));
+            throw new FileNotFoundException(String.format(ERROR_CONFIG_FILE_NOT_FOUND, configPath));
         }
         
         try (InputStream input = Files.newInputStream(configPath)) {
@@ -169,6 +227,22 @@ public final class ConfigurationLoader {
         return interval;
     }
 
+    private static int validateAndGetMaxInterval(Properties properties) {
+        String maxIntervalString = getProperty(properties, KEY_MAX_INTERVAL);
+
+        if (maxIntervalString == null || maxIntervalString.trim().isBlank()) {
+            return 0;
+        }
+
+        int maxInterval = parseNumberString(maxIntervalString);
+
+        if (maxInterval < 0) {
+            throw new IllegalArgumentException(ERROR_NUM_INVALID);
+        }
+
+        return maxInterval;
+    }
+
     private static int validateAndGetDuration(Properties properties) {
         String durationString = getProperty(properties, KEY_DURATION);
 
@@ -183,6 +257,105 @@ public final class ConfigurationLoader {
         return duration;
     }
 
+    private static int validateAndGetProbeInterval(Properties properties) {
+        String probeIntervalString = getProperty(properties, KEY_PROBE_INTERVAL);
+
+        if (probeIntervalString == null || probeIntervalString.trim().isBlank()) {
+            return 0;
+        }
+
+        int probeInterval = parseNumberString(probeIntervalString);
+
+        if (probeInterval < 0) {
+            throw new IllegalArgumentException(ERROR_NUM_INVALID);
+        }
+
+        return probeInterval;
+    }
+
+    private static int validateAndGetSchedulerLeadTime(Properties properties) {
+        String leadTimeString = getProperty(properties, KEY_SCHEDULER_LEAD_TIME);
+
+        if (leadTimeString == null || leadTimeString.trim().isBlank()) {
+            return 0;
+        }
+
+        int leadTime = parseNumberString(leadTimeString);
+
+        if (leadTime < 0) {
+            throw new IllegalArgumentException(ERROR_NUM_INVALID);
+        }
+
+        return leadTime;
+    }
+
+    private static int validateAndGetMetricsPort(Properties properties) {
+        String metricsPortString = getProperty(properties, KEY_METRICS_PORT);
+
+        if (metricsPortString == null || metricsPortString.trim().isBlank()) {
+            return 0;
+        }
+
+        int metricsPort = parseNumberString(metricsPortString);
+
+        if (metricsPort < 0) {
+            throw new IllegalArgumentException(ERROR_NUM_INVALID);
+        }
+
+        return metricsPort;
+    }
+
+    private static List<URI> validateAndGetWebhookUrls(Properties properties) {
+        String webhookUrlsString = getProperty(properties, KEY_WEBHOOK_URLS);
+        List<URI> webhookUrls = new ArrayList<>();
+
+        if (webhookUrlsString == null || webhookUrlsString.trim().isBlank()) {
+            return webhookUrls;
+        }
+
+        for (String url : webhookUrlsString.split(WEBHOOK_URL_SEPARATOR)) {
+            if (url.isBlank()) {
+                continue;
+            }
+
+            URI webhookUrl;
+
+            try {
+                webhookUrl = new URI(url.trim());
+            } catch (URISyntaxException error) {
+                throw new IllegalArgumentException(String.format(ERROR_WEBHOOK_URL_INVALID, url.trim()), error);
+            }
+
+            if (!"http".equalsIgnoreCase(webhookUrl.getScheme()) && !"https".equalsIgnoreCase(webhookUrl.getScheme())) {
+                throw new IllegalArgumentException(String.format(ERROR_WEBHOOK_URL_INVALID, url.trim()));
+            }
+
+            webhookUrls.add(webhookUrl);
+        }
+
+        return webhookUrls;
+    }
+
+    private static BrowserProfile validateAndGetBrowserProfile(Properties properties) {
+        String browserProfile = getProperty(properties, KEY_BROWSER_PROFILE);
+
+        if (browserProfile == null || browserProfile.trim().isBlank()) {
+            return BrowserProfile.DEFAULT;
+        }
+
+        return BrowserProfile.fromString(browserProfile);
+    }
+
+    private static SessionPersistence validateAndGetSessionPersistence(Properties properties) {
+        String sessionPersistence = getProperty(properties, KEY_SESSION_PERSISTENCE);
+
+        if (sessionPersistence == null || sessionPersistence.trim().isBlank()) {
+            return SessionPersistence.NONE;
+        }
+
+        return SessionPersistence.fromString(sessionPersistence);
+    }
+
     private static String validateAndGetTerm(Properties properties) {
         String termRaw = getProperty(properties, KEY_TERM);
 
@@ -212,30 +385,53 @@ public final class ConfigurationLoader {
         }
     }
 
-    private static Set<String> validateAndGetCourseCodes(Properties properties) {
+    // "16158|18551,17412" is two courses, the first satisfied by either section with 16158 preferred
+    private static List<CourseGroup> validateAndGetCourseGroups(Properties properties) {
         String courseCodesStr = getProperty(properties, KEY_COURSE_CODES);
 
         if (courseCodesStr == null || courseCodesStr.trim().isBlank()) {
             throw new IllegalArgumentException(ERROR_COURSE_CODES_MISSING);
         }
         
-        Set<String> courseCodes = parseCourseCodes(courseCodesStr);
+        List<CourseGroup> courseGroups = parseCourseGroups(courseCodesStr);
         
-        if (courseCodes.isEmpty()) {
+        if (courseGroups.isEmpty()) {
             throw new IllegalArgumentException(ERROR_COURSE_CODES_EMPTY);
         }
-        if (courseCodes.size() > MAX_COURSE_CODES) {
+        if (courseGroups.size() > MAX_COURSE_CODES) {
             throw new IllegalArgumentException(ERROR_COURSE_CODES_MAX);
         }
         
-        return courseCodes;
+        return courseGroups;
     }
 
-    private static Set<String> parseCourseCodes(String courseCodesStr) {
-        return Stream.of(courseCodesStr.split(COURSE_CODE_SEPARATOR))
-                .map(String::trim)
-                .filter(code -> !code.isBlank())
-                .collect(Collectors.toCollection(HashSet::new));
+    private static List<CourseGroup> parseCourseGroups(String courseCodesStr) {
+        List<CourseGroup> courseGroups = new ArrayList<>();
+        Set<String> seenCodes = new HashSet<>();
+
+        for (String groupStr : courseCodesStr.split(COURSE_CODE_SEPARATOR)) {
+            List<String> sectionCodes = Stream.of(groupStr.split(Pattern.quote(ALTERNATIVE_SEPARATOR)))
+                    .map(String::trim)
+                    .filter(code -> !code.isBlank())
+                    .toList();
+
+            if (sectionCodes.isEmpty()) {
+                continue;
+            }
+            if (sectionCodes.size() > MAX_ALTERNATIVES) {
+                throw new IllegalArgumentException(String.format(ERROR_ALTERNATIVES_MAX, groupStr.trim()));
+            }
+
+            for (String code : sectionCodes) {
+                if (!seenCodes.add(code)) {
+                    throw new IllegalArgumentException(String.format(ERROR_COURSE_CODE_DUPLICATE, code));
+                }
+            }
+
+            courseGroups.add(new CourseGroup(sectionCodes));
+        }
+
+        return courseGroups;
     }
     
     private static int parseNumberString(String numberString) {
@@ -0,0 +1,100 @@
+package com.seatsniper.utilities;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.seatsniper.UserData;
+
+// Reloads the configuration file whenever it is saved and hands every version that passes validation to the listener
+public final class ConfigurationWatcher implements AutoCloseable {
+    // Editors save in several writes or through a rename, the file is read once they have been quiet this long
+    private static final long SETTLE_MILLIS = 250;
+
+    private static final String ERROR_RELOAD = "The changed configuration was not applied: %s";
+
+    private final Path configPath;
+    private final Consumer<UserData> listener;
+    private final WatchService watchService;
+    private final Thread watcherThread;
+
+    private ConfigurationWatcher(Path configPath, Consumer<UserData> listener) throws IOException {
+        this.configPath = configPath.toAbsolutePath();
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+
+        // Watching the directory also catches editors that replace the file instead of writing into it
+        this.configPath.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        this.watcherThread = new Thread(this::watch, "configuration-watcher");
+        this.watcherThread.setDaemon(true);
+    }
+
+    public static ConfigurationWatcher start(Path configPath, Consumer<UserData> listener) throws IOException {
+        ConfigurationWatcher watcher = new ConfigurationWatcher(configPath, listener);
+
+        watcher.watcherThread.start();
+
+        return watcher;
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // The watcher thread exits either way once the service is closed
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                if (!isConfigEvent(watchService.take())) {
+                    continue;
+                }
+
+                WatchKey key;
+
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isConfigEvent(key);
+                }
+
+                reload();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Closed by close()
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isConfigEvent(WatchKey key) {
+        boolean matched = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || configPath.getFileName().equals(event.context())) {
+                matched = true;
+            }
+        }
+
+        key.reset();
+
+        return matched;
+    }
+
+    private void reload() {
+        try {
+            listener.accept(ConfigurationLoader.loadData(configPath));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(String.format(ERROR_RELOAD, e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.seatsniper.utilities;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Records when each startup stage ran and on which thread, so overlapping stages show up side by side
+public final class StartupTimeline {
+    private static final String HEADER_TEXT = "----- STARTUP TIMELINE -----";
+    private static final String ROW_FORMAT = "%-32s start=+%-7dms took=%-7dms %s%n";
+    private static final String READY_FORMAT = "%nFirst enrollment attempt started %dms after launch.%n";
+
+    private final long originNanos = System.nanoTime();
+    private final List<Stage> stages = new ArrayList<>();
+    private long readyNanos = -1;
+
+    // Records a stage that ran from startNanos until now on the calling thread, call it from a finally block
+    public synchronized void recordSince(String name, long startNanos) {
+        stages.add(new Stage(name, Thread.currentThread().getName(), startNanos, System.nanoTime()));
+    }
+
+    // Only the first call counts, later cycles are not part of startup
+    public synchronized void markReady() {
+        if (readyNanos < 0) {
+            readyNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized String summary() {
+        StringBuilder summary = new StringBuilder();
+        List<Stage> sortedStages = new ArrayList<>(stages);
+
+        sortedStages.sort(Comparator.comparingLong(stage -> stage.startNanos));
+        summary.append("\n").append(HEADER_TEXT).append("\n\n");
+
+        for (Stage stage : sortedStages) {
+            summary.append(String.format(ROW_FORMAT,
+                    stage.name,
+                    TimeUnit.NANOSECONDS.toMillis(stage.startNanos - originNanos),
+                    TimeUnit.NANOSECONDS.toMillis(stage.endNanos - stage.startNanos),
+                    stage.threadName));
+        }
+
+        if (readyNanos >= 0) {
+            summary.append(String.format(READY_FORMAT, TimeUnit.NANOSECONDS.toMillis(readyNanos - originNanos)));
+        }
+
+        summary.append("\n").append("-".repeat(HEADER_TEXT.length())).append("\n");
+
+        return summary.toString();
+    }
+
+    private static final class Stage {
+        private final String name;
+        private final String threadName;
+        private final long startNanos;
+        private final long endNanos;
+
+        private Stage(String name, String threadName, long startNanos, long endNanos) {
+            this.name = name;
+            this.threadName = threadName;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+}
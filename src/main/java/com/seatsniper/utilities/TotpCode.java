@@ -0,0 +1,39 @@
+package com.seatsniper.utilities;
+
+import java.time.Instant;
+
+// A one-time code and the window in which the server accepts it
+public final class TotpCode {
+    private final String code;
+    private final long step;
+    private final Instant validFrom;
+    private final Instant validUntil;
+
+    public TotpCode(String code, long step, Instant validFrom, Instant validUntil) {
+        this.code = code;
+        this.step = step;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public long getStep() {
+        return step;
+    }
+
+    public Instant getValidFrom() {
+        return validFrom;
+    }
+
+    public Instant getValidUntil() {
+        return validUntil;
+    }
+
+    @Override
+    public String toString() {
+        return "TotpCode{ step=" + step + ", validFrom=" + validFrom + ", validUntil=" + validUntil + " }";
+    }
+}
@@ -0,0 +1,66 @@
+package com.seatsniper.utilities;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.jboss.aerogear.security.otp.Totp;
+
+// Hands out codes that will still be valid by the time they reach the server, moving on to the next
+// 30 second step instead of submitting a code that is about to expire
+public final class TotpGenerator {
+    private static final int STEP_SECONDS = 30;
+    private static final long STEP_MILLIS = STEP_SECONDS * 1000L;
+
+    private final String secret;
+    private final Clock clock;
+
+    public TotpGenerator(String secret, Clock clock) {
+        this.secret = secret;
+        this.clock = clock;
+    }
+
+    // The current step's code when it has at least minimumValidity left, otherwise the next step's code, which only
+    // becomes valid at its getValidFrom()
+    public TotpCode codeValidFor(Duration minimumValidity) {
+        long step = clock.millis() / STEP_MILLIS;
+
+        if (Duration.between(clock.instant(), stepStart(step + 1)).compareTo(minimumValidity) < 0) {
+            step++;
+        }
+
+        return codeAt(step);
+    }
+
+    // Servers refuse a code that was already used or rejected, so a retry always moves to a later step
+    public TotpCode codeAfter(TotpCode rejected, Duration minimumValidity) {
+        TotpCode next = codeValidFor(minimumValidity);
+
+        return next.getStep() > rejected.getStep() ? next : codeAt(rejected.getStep() + 1);
+    }
+
+    private TotpCode codeAt(long step) {
+        String code = new Totp(secret, new StepClock(step)).now();
+
+        return new TotpCode(code, step, stepStart(step), stepStart(step + 1));
+    }
+
+    private static Instant stepStart(long step) {
+        return Instant.ofEpochMilli(step * STEP_MILLIS);
+    }
+
+    // Pins the library's clock to one step so codes can be computed ahead of time
+    private static final class StepClock extends org.jboss.aerogear.security.otp.api.Clock {
+        private final long step;
+
+        StepClock(long step) {
+            super(STEP_SECONDS);
+            this.step = step;
+        }
+
+        @Override
+        public long getCurrentInterval() {
+            return step;
+        }
+    }
+}
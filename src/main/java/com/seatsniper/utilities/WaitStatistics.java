@@ -0,0 +1,63 @@
+package com.seatsniper.utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public final class WaitStatistics {
+    private static final String HEADER_TEXT = "----- WAIT STATISTICS -----";
+    private static final String ROW_FORMAT = "%-60s count=%-4d total=%-7dms avg=%-6dms max=%dms%n";
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public synchronized void record(String label, long elapsedNanos) {
+        entries.computeIfAbsent(label, key -> new Entry()).add(elapsedNanos);
+    }
+
+    public synchronized long getTotalMillis() {
+        long totalNanos = 0;
+
+        for (Entry entry : entries.values()) {
+            totalNanos += entry.totalNanos;
+        }
+
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    }
+
+    public synchronized void reset() {
+        entries.clear();
+    }
+
+    public synchronized String summary() {
+        StringBuilder summary = new StringBuilder();
+
+        summary.append("\n").append(HEADER_TEXT).append("\n\n");
+
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Entry stats = entry.getValue();
+
+            summary.append(String.format(ROW_FORMAT,
+                    entry.getKey(),
+                    stats.count,
+                    TimeUnit.NANOSECONDS.toMillis(stats.totalNanos),
+                    TimeUnit.NANOSECONDS.toMillis(stats.totalNanos / stats.count),
+                    TimeUnit.NANOSECONDS.toMillis(stats.maxNanos)));
+        }
+
+        summary.append("\n").append("-".repeat(HEADER_TEXT.length())).append("\n");
+
+        return summary.toString();
+    }
+
+    private static final class Entry {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private void add(long elapsedNanos) {
+            count++;
+            totalNanos += elapsedNanos;
+            maxNanos = Math.max(maxNanos, elapsedNanos);
+        }
+    }
+}
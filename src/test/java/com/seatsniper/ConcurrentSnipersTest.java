@@ -0,0 +1,104 @@
+package com.seatsniper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.seatsniper.mock.BrowserTestSupport;
+import com.seatsniper.mock.MockCunyFirstServer;
+import com.seatsniper.mock.SeatState;
+
+// Several students sniping side by side in one process, each on its own browser and CUNYfirst session
+public class ConcurrentSnipersTest {
+    private static final String TERM = (Year.now().getValue() + 1) + " Spring";
+    private static final String SHARED_SECTION = "10001";
+    private static final int INSTANCES = 3;
+
+    private MockCunyFirstServer server;
+    private final List<Sniper> snipers = new ArrayList<>();
+    private final List<String> usernames = new ArrayList<>();
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        BrowserTestSupport.skipUnlessBrowserAvailable();
+
+        server = new MockCunyFirstServer(TERM, BrowserTestSupport.AUTHENTICATOR_NAME, Duration.ofMillis(20));
+        server.addSection(SHARED_SECTION, "MATH 150 - Calculus I", SeatState.OPEN);
+
+        for (int i = 0; i < INSTANCES; i++) {
+            server.addSection(ownSection(i), "CSCI 12" + i + " - Topics in Computing", SeatState.OPEN);
+        }
+
+        server.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() throws IOException {
+        for (Sniper sniper : snipers) {
+            try {
+                sniper.selfDestruct();
+            } catch (RuntimeException e) {
+                // Set up failed before the browser started, there is nothing to close
+            }
+        }
+        for (String username : usernames) {
+            BrowserTestSupport.deleteState(username);
+        }
+        if (server != null) {
+            server.close();
+        }
+
+        snipers.clear();
+        usernames.clear();
+    }
+
+    @Test
+    public void instancesEnrollOnlyTheirOwnSections() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES);
+        List<Future<Boolean>> cycles = new ArrayList<>(INSTANCES);
+
+        for (int i = 0; i < INSTANCES; i++) {
+            String username = BrowserTestSupport.newUsername();
+            Sniper sniper = new Sniper(BrowserTestSupport.userData(username, TERM, List.of(SHARED_SECTION, ownSection(i))));
+
+            usernames.add(username);
+            snipers.add(sniper);
+
+            // Each sniper is set up and run on one pool thread, the future hands it back for the teardown
+            cycles.add(executor.submit(() -> BrowserTestSupport.signIn(sniper, server).runEnrollmentCycle()));
+        }
+
+        try {
+            for (Future<Boolean> cycle : cycles) {
+                assertTrue(cycle.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(server.getLoginCount(), INSTANCES);
+        assertEquals(server.getEnrollRequestCount(), INSTANCES);
+
+        for (int i = 0; i < INSTANCES; i++) {
+            assertEquals(server.getEnrolledSections(usernames.get(i)), Set.of(SHARED_SECTION, ownSection(i)));
+            assertTrue(server.getCart(usernames.get(i)).isEmpty());
+        }
+    }
+
+    private static String ownSection(int instance) {
+        return String.valueOf(20001 + instance);
+    }
+}
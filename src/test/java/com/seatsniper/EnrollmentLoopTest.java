@@ -0,0 +1,189 @@
+package com.seatsniper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.seatsniper.enrollment.CourseGroup;
+import com.seatsniper.mock.BrowserTestSupport;
+import com.seatsniper.mock.MockCunyFirstServer;
+import com.seatsniper.mock.SeatState;
+
+// Runs Sniper end to end against the local CUNYfirst replica
+public class EnrollmentLoopTest {
+    private static final String TERM = (Year.now().getValue() + 1) + " Spring";
+
+    private MockCunyFirstServer server;
+    private final List<Sniper> snipers = new ArrayList<>();
+    private final List<String> usernames = new ArrayList<>();
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        BrowserTestSupport.skipUnlessBrowserAvailable();
+
+        server = new MockCunyFirstServer(TERM, BrowserTestSupport.AUTHENTICATOR_NAME, Duration.ZERO);
+        server.addSection("10001", "MATH 150 - Calculus I", SeatState.OPEN);
+        server.addSection("10002", "CSCI 127 - Introduction to Computer Science", SeatState.WAITLIST);
+        server.addSection("10003", "ENGL 110 - College Writing", SeatState.FULL);
+        server.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() throws IOException {
+        for (Sniper sniper : snipers) {
+            try {
+                sniper.selfDestruct();
+            } catch (RuntimeException e) {
+                // Set up failed before the browser started, there is nothing to close
+            }
+        }
+        for (String username : usernames) {
+            BrowserTestSupport.deleteState(username);
+        }
+        if (server != null) {
+            server.close();
+        }
+
+        snipers.clear();
+        usernames.clear();
+    }
+
+    @Test
+    public void fullCycleSettlesEnrolledAndWaitlistedSections() throws Exception {
+        String username = BrowserTestSupport.newUsername();
+        Sniper sniper = signIn(username, "10001", "10002");
+
+        assertTrue(sniper.runEnrollmentCycle());
+        assertEquals(server.getEnrolledSections(username), Set.of("10001", "10002"));
+        assertEquals(server.getEnrollRequestCount(), 1);
+        assertTrue(server.getCart(username).isEmpty());
+    }
+
+    @Test
+    public void seatOpeningMidLoopIsEnrolledOnTheNextCycle() throws Exception {
+        String username = BrowserTestSupport.newUsername();
+        Sniper sniper = signIn(username, "10003");
+
+        assertFalse(sniper.runEnrollmentCycle());
+        assertEquals(server.getCart(username), Set.of("10003"));
+
+        server.setSeatState("10003", SeatState.OPEN);
+
+        assertTrue(sniper.runEnrollmentCycle());
+        assertEquals(server.getEnrolledSections(username), Set.of("10003"));
+        assertEquals(server.getEnrollRequestCount(), 2);
+    }
+
+    @Test
+    public void expiredSessionIsRecoveredByLoggingInAgain() throws Exception {
+        String username = BrowserTestSupport.newUsername();
+        Sniper sniper = signIn(username, "10003");
+
+        assertFalse(sniper.runEnrollmentCycle());
+
+        server.expireSessions();
+        server.setSeatState("10003", SeatState.OPEN);
+
+        // The loop's watchdog has to notice the logged out Schedule Builder and sign in again before it can enroll
+        sniper.startEnrollmentLoop();
+
+        assertEquals(server.getLoginCount(), 2);
+        assertEquals(server.getEnrolledSections(username), Set.of("10003"));
+    }
+
+    @Test
+    public void onlyTheMostPreferredAlternativeIsCheckedOutWhenBothHaveSeats() throws Exception {
+        server.addSection("10004", "MATH 150 - Calculus I", SeatState.OPEN);
+
+        String username = BrowserTestSupport.newUsername();
+        Sniper sniper = signIn(username, List.of(new CourseGroup(List.of("10004", "10001"))));
+
+        assertTrue(sniper.runEnrollmentCycle());
+        assertEquals(server.getEnrolledSections(username), Set.of("10004"));
+        assertTrue(server.getCart(username).isEmpty());
+    }
+
+    @Test
+    public void fullAlternativeHandsTheNextCheckoutToTheFollowingSection() throws Exception {
+        // 110003 contains 10003, a removal that matched it would leave the full section in the cart
+        server.addSection("110003", "HIST 101 - World History", SeatState.FULL);
+
+        String username = BrowserTestSupport.newUsername();
+        Sniper sniper = signIn(username, List.of(new CourseGroup(List.of("10003", "10001")), new CourseGroup(List.of("110003"))));
+
+        assertFalse(sniper.runEnrollmentCycle());
+        assertTrue(server.getEnrolledSections(username).isEmpty());
+        assertEquals(server.getCart(username), Set.of("10003", "110003"));
+
+        assertFalse(sniper.runEnrollmentCycle());
+        assertEquals(server.getEnrolledSections(username), Set.of("10001"));
+        assertEquals(server.getCart(username), Set.of("110003"));
+    }
+
+    @Test
+    public void sectionStuckInTheCartHoldsBackOnlyItsOwnCourse() throws Exception {
+        server.addSection("110003", "HIST 101 - World History", SeatState.FULL);
+
+        String username = BrowserTestSupport.newUsername();
+        Sniper sniper = signIn(username, List.of(new CourseGroup(List.of("10003", "10001")), new CourseGroup(List.of("110003"))));
+
+        assertFalse(sniper.runEnrollmentCycle());
+
+        server.setCartRemovalIgnored(true);
+        server.setSeatState("110003", SeatState.OPEN);
+
+        // 10003 can't leave the cart, so 10001 is not staged beside it while the other course still checks out
+        assertFalse(sniper.runEnrollmentCycle());
+        assertEquals(server.getEnrolledSections(username), Set.of("110003"));
+        assertEquals(server.getCart(username), Set.of("10003"));
+    }
+
+    @Test
+    public void sessionExpiringBeforeTheAppointmentIsRenewedAndFiredOnTime() throws Exception {
+        // Appointments are shown to the minute, so the next minute but one is at least a minute away
+        ZonedDateTime appointment = ZonedDateTime.now(ZoneId.of("America/New_York")).truncatedTo(ChronoUnit.MINUTES).plusMinutes(2);
+        String username = BrowserTestSupport.newUsername();
+
+        server.setAppointmentTime(appointment);
+
+        Sniper sniper = signIn(username, "10001");
+
+        assertTrue(sniper.isAppointmentPending());
+
+        server.expireSessions();
+
+        assertTrue(sniper.fireAtAppointment());
+        assertFalse(Instant.now().isBefore(appointment.toInstant()));
+        assertEquals(server.getLoginCount(), 2);
+        assertEquals(server.getEnrollRequestCount(), 1);
+        assertEquals(server.getEnrolledSections(username), Set.of("10001"));
+    }
+
+    private Sniper signIn(String username, String... sectionCodes) throws IOException, InterruptedException {
+        return signIn(username, CourseGroup.singles(List.of(sectionCodes)));
+    }
+
+    private Sniper signIn(String username, List<CourseGroup> courseGroups) throws IOException, InterruptedException {
+        Sniper sniper = new Sniper(BrowserTestSupport.groupedUserData(username, TERM, courseGroups));
+
+        usernames.add(username);
+        snipers.add(sniper);
+
+        return BrowserTestSupport.signIn(sniper, server);
+    }
+}
@@ -0,0 +1,141 @@
+package com.seatsniper.benchmark;
+
+import static org.testng.Assert.assertTrue;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.seatsniper.Sniper;
+import com.seatsniper.mock.BrowserTestSupport;
+import com.seatsniper.mock.MockCunyFirstServer;
+import com.seatsniper.mock.SeatState;
+
+// Runs Sniper end to end against the local replica and reports how long each section count takes to reach and repeat
+// an attempt. Needs the same driver and browser properties as the browser tests, the run can be tuned with
+// -Dseatsniper.benchmark.cycles, -Dseatsniper.benchmark.latencyMillis and -Dseatsniper.benchmark.sectionCounts
+public class EndToEndBenchmark {
+    private static final String CYCLES_PROPERTY = "seatsniper.benchmark.cycles";
+    private static final String LATENCY_PROPERTY = "seatsniper.benchmark.latencyMillis";
+    private static final String SECTION_COUNTS_PROPERTY = "seatsniper.benchmark.sectionCounts";
+    private static final int FIRST_SECTION_CODE = 10001;
+    private static final int DEFAULT_CYCLES = 20;
+    private static final int DEFAULT_LATENCY_MILLIS = 50;
+    private static final String DEFAULT_SECTION_COUNTS = "1,3,7";
+    private static final String REPORT_HEADER = "\n--- End-to-end benchmark (%dms latency, %d cycles) ---";
+    private static final String REPORT_ROW = "%n%2d sections | first attempt %6dms | staging cycle %6dms | cycle p50 %6dms | p99 %6dms";
+    private static final String REPORT_FOOTER = "------------------------------------------";
+
+    private final List<String> reportRows = Collections.synchronizedList(new ArrayList<>());
+    private int cycles;
+    private Duration latency;
+
+    @BeforeClass
+    public void readSettings() {
+        BrowserTestSupport.skipUnlessBrowserAvailable();
+
+        cycles = Integer.getInteger(CYCLES_PROPERTY, DEFAULT_CYCLES);
+        latency = Duration.ofMillis(Integer.getInteger(LATENCY_PROPERTY, DEFAULT_LATENCY_MILLIS));
+
+        // The first cycle stages the cart, percentiles need at least one steady cycle after it
+        if (cycles < 2) {
+            throw new IllegalArgumentException("Cycles must be at least 2, got: " + cycles);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void printReport() {
+        if (reportRows.isEmpty()) {
+            return;
+        }
+
+        StringBuilder report = new StringBuilder(String.format(REPORT_HEADER, latency.toMillis(), cycles));
+
+        reportRows.forEach(report::append);
+        System.out.println(report.append('\n').append(REPORT_FOOTER));
+    }
+
+    @DataProvider
+    public Object[][] sectionCounts() {
+        return Arrays.stream(System.getProperty(SECTION_COUNTS_PROPERTY, DEFAULT_SECTION_COUNTS).split(","))
+                .map(count -> new Object[] { Integer.parseInt(count.trim()) })
+                .toArray(Object[][]::new);
+    }
+
+    // Every section stays full so each cycle is a complete checkout and the loop never settles early
+    @Test(dataProvider = "sectionCounts")
+    public void firstAttemptAndCycleLatency(int sectionCount) throws Exception {
+        String term = (Year.now().getValue() + 1) + " Spring";
+        String username = BrowserTestSupport.newUsername();
+        Set<String> sectionCodes = new LinkedHashSet<>();
+
+        try (MockCunyFirstServer server = new MockCunyFirstServer(term, BrowserTestSupport.AUTHENTICATOR_NAME, latency)) {
+            for (int i = 0; i < sectionCount; i++) {
+                String code = String.valueOf(FIRST_SECTION_CODE + i);
+
+                sectionCodes.add(code);
+                server.addSection(code, "BENCH " + (100 + i) + " - Benchmark Section " + (i + 1), SeatState.FULL);
+            }
+
+            server.start();
+
+            Sniper sniper = new Sniper(BrowserTestSupport.userData(username, term, sectionCodes));
+            List<Long> cycleNanos = new ArrayList<>(cycles);
+            long startNanos = System.nanoTime();
+
+            try {
+                BrowserTestSupport.signIn(sniper, server);
+
+                for (int i = 0; i < cycles; i++) {
+                    long cycleStart = System.nanoTime();
+
+                    sniper.runEnrollmentCycle();
+                    cycleNanos.add(System.nanoTime() - cycleStart);
+                }
+            } finally {
+                sniper.selfDestruct();
+                BrowserTestSupport.deleteState(username);
+            }
+
+            long firstAttemptNanos = server.getFirstEnrollNanos() - startNanos;
+            List<Long> steadyCycles = new ArrayList<>(cycleNanos.subList(1, cycleNanos.size()));
+
+            Collections.sort(steadyCycles);
+
+            assertTrue(server.getFirstEnrollNanos() != 0, "No enrollment request reached the replica");
+
+            reportRows.add(String.format(REPORT_ROW,
+                    sectionCount,
+                    toMillis(firstAttemptNanos),
+                    toMillis(cycleNanos.get(0)),
+                    toMillis(percentile(steadyCycles, 50)),
+                    toMillis(percentile(steadyCycles, 99))));
+        }
+    }
+
+    // Nearest-rank percentile of an already sorted list
+    private static long percentile(List<Long> sortedValues, int percentile) {
+        if (sortedValues.isEmpty()) {
+            return 0;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.size());
+
+        return sortedValues.get(Math.max(0, rank - 1));
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
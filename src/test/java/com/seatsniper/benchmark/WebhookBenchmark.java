@@ -0,0 +1,154 @@
+package com.seatsniper.benchmark;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.seatsniper.enrollment.EnrollmentListener;
+import com.seatsniper.enrollment.EnrollmentResult;
+import com.seatsniper.notification.WebhookNotifier;
+import com.sun.net.httpserver.HttpServer;
+
+// Drives WebhookNotifier like the enrollment loop would against healthy, slow, failing and unreachable receivers,
+// and reports how long the loop thread spends handing results over in each case
+public final class WebhookBenchmark {
+    private static final String USAGE = "Usage: WebhookBenchmark [cycles] [sections]";
+    private static final int DEFAULT_CYCLES = 500;
+    private static final int DEFAULT_SECTIONS = 7;
+    private static final int FIRST_SECTION_CODE = 10001;
+    private static final long CYCLE_PAUSE_MILLIS = 2;
+    private static final long SLOW_RECEIVER_MILLIS = 3000;
+    private static final String REPORT_HEADER = "\n--- Webhook benchmark (%d cycles, %d sections) ---";
+    private static final String REPORT_ROW = "%n%-9s | hand-off p50 %6dus | p99 %6dus | max %6dus | received %4d | delivered %4d | failed %3d | dropped %4d";
+    private static final String REPORT_FOOTER = "------------------------------------------";
+
+    private WebhookBenchmark() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 2) {
+            System.err.println(USAGE);
+
+            return;
+        }
+
+        int cycles = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CYCLES;
+        int sections = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECTIONS;
+        StringBuilder report = new StringBuilder(String.format(REPORT_HEADER, cycles, sections));
+
+        report.append(run("none", null, null, cycles, sections));
+
+        for (String mode : List.of("healthy", "slow", "failing")) {
+            AtomicInteger received = new AtomicInteger();
+            HttpServer receiver = startReceiver(mode, received);
+
+            try {
+                URI url = URI.create("http://127.0.0.1:" + receiver.getAddress().getPort() + "/hook");
+
+                report.append(run(mode, url, received, cycles, sections));
+            } finally {
+                receiver.stop(0);
+            }
+        }
+
+        report.append(run("down", URI.create("http://127.0.0.1:" + unusedPort() + "/hook"), new AtomicInteger(), cycles, sections));
+
+        System.out.println(report.append('\n').append(REPORT_FOOTER));
+    }
+
+    // Every result differs from the last one, so each hand-off is queued rather than skipped as unchanged
+    private static String run(String mode, URI url, AtomicInteger received, int cycles, int sections) throws InterruptedException {
+        WebhookNotifier notifier = url != null ? new WebhookNotifier(List.of(url), "Benchmark update:") : null;
+        EnrollmentListener listener = notifier != null ? notifier : new NoOpListener();
+        long[] handOffNanos = new long[cycles];
+
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            long start = System.nanoTime();
+
+            for (int section = 0; section < sections; section++) {
+                listener.onSectionResult(Integer.toString(FIRST_SECTION_CODE + section), "BENCH " + (100 + section), EnrollmentResult.waitlisted(cycle + 1));
+            }
+
+            listener.onCycleComplete(cycle + 1, 0, sections);
+            handOffNanos[cycle] = System.nanoTime() - start;
+
+            Thread.sleep(CYCLE_PAUSE_MILLIS);
+        }
+
+        if (notifier != null) {
+            notifier.close();
+        }
+
+        Arrays.sort(handOffNanos);
+
+        return String.format(REPORT_ROW,
+            mode,
+            toMicros(percentile(handOffNanos, 50)),
+            toMicros(percentile(handOffNanos, 99)),
+            toMicros(handOffNanos[cycles - 1]),
+            received != null ? received.get() : 0,
+            notifier != null ? notifier.getDeliveredRequests() : 0,
+            notifier != null ? notifier.getFailedRequests() : 0,
+            notifier != null ? notifier.getDroppedNotifications() : 0
+        );
+    }
+
+    private static HttpServer startReceiver(String mode, AtomicInteger received) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/hook", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            received.incrementAndGet();
+
+            if (mode.equals("slow")) {
+                try {
+                    Thread.sleep(SLOW_RECEIVER_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            exchange.sendResponseHeaders(mode.equals("failing") ? 503 : 204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        return server;
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // Nearest-rank percentile of an already sorted array
+    private static long percentile(long[] sortedValues, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.length);
+
+        return sortedValues[Math.max(0, rank - 1)];
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static final class NoOpListener implements EnrollmentListener {
+        @Override
+        public void onSectionResult(String sectionCode, String courseName, EnrollmentResult result) {
+        }
+
+        @Override
+        public void onCycleComplete(int cycleNumber, long durationNanos, int remainingSections) {
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.seatsniper.browser;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SessionStoreTest {
+    private static final String SESSION = """
+        {"term": "%s", "scheduleBuilderUrl": "https://sb.cunyfirst.cuny.edu/", "appointmentTime": "2027-01-10T09:00-05:00[America/New_York]",
+         "cookies": [{"name": "JSESSIONID", "value": "abc", "domain": "sb.cunyfirst.cuny.edu", "path": "/"}]}
+        """;
+
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("session-store");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void sessionForTheConfiguredTermIsRestored() throws IOException {
+        Files.writeString(directory.resolve("session.json"), SESSION.formatted("2027 Spring"));
+
+        StoredSession session = new SessionStore(SessionPersistence.COOKIES, "2027 Spring", directory).load();
+
+        assertNotNull(session);
+        assertEquals(session.getScheduleBuilderUrl(), "https://sb.cunyfirst.cuny.edu/");
+        assertEquals(session.getCookies().size(), 1);
+    }
+
+    @Test
+    public void sessionForAnotherTermIsIgnored() throws IOException {
+        Files.writeString(directory.resolve("session.json"), SESSION.formatted("2026 Fall"));
+
+        assertNull(new SessionStore(SessionPersistence.COOKIES, "2027 Spring", directory).load());
+    }
+
+    @Test
+    public void sessionWithoutATermIsIgnored() throws IOException {
+        Files.writeString(directory.resolve("session.json"), SESSION.replace("\"term\": \"%s\", ", ""));
+
+        assertNull(new SessionStore(SessionPersistence.COOKIES, "2027 Spring", directory).load());
+    }
+
+    @Test
+    public void nothingIsRestoredWithPersistenceOff() throws IOException {
+        Files.writeString(directory.resolve("session.json"), SESSION.formatted("2027 Spring"));
+
+        assertNull(new SessionStore(SessionPersistence.NONE, "2027 Spring", directory).load());
+    }
+}
@@ -0,0 +1,111 @@
+package com.seatsniper.daemon;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.seatsniper.browser.BrowserLauncher;
+import com.seatsniper.mock.BrowserTestSupport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// A browser handed to another job must not leak anything the previous student's session left behind
+public class PooledBrowserTest {
+    private static final String PAGE = "<html><head><script src=\"/cached.js\"></script></head><body>page</body></html>";
+
+    private HttpServer server;
+    private PooledBrowser browser;
+    private String pageUrl;
+    private final AtomicInteger scriptRequests = new AtomicInteger();
+
+    @BeforeMethod
+    public void startBrowser() throws IOException {
+        BrowserTestSupport.skipUnlessBrowserAvailable();
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/page", exchange -> respond(exchange, "text/html", PAGE));
+        server.createContext("/cached.js", exchange -> {
+            scriptRequests.incrementAndGet();
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+            respond(exchange, "text/javascript", "window.loaded = true;");
+        });
+        server.start();
+
+        pageUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/page";
+        browser = new PooledBrowser(1, BrowserLauncher.launch(BrowserTestSupport.userData(BrowserTestSupport.newUsername(), "", List.of())));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopBrowser() {
+        if (browser != null) {
+            browser.quit();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void reassigningClearsCookiesStorageTabsAndCache() {
+        ChromeDriver driver = browser.getDriver();
+
+        browser.assignTo("first-job");
+        leaveTraces(driver);
+        driver.switchTo().newWindow(WindowType.TAB);
+        leaveTraces(driver);
+
+        browser.assignTo("second-job");
+        driver.get(pageUrl);
+
+        assertEquals(driver.getWindowHandles().size(), 1);
+        assertNull(driver.executeScript("return localStorage.getItem('student');"));
+        assertNull(driver.executeScript("return sessionStorage.getItem('student');"));
+        assertEquals(driver.executeScript("return document.cookie;"), "");
+        // Two tabs of the first job shared the cached script, the second job had to fetch it again
+        assertEquals(scriptRequests.get(), 2);
+    }
+
+    @Test
+    public void sameJobKeepsItsSession() {
+        ChromeDriver driver = browser.getDriver();
+
+        browser.assignTo("first-job");
+        leaveTraces(driver);
+
+        browser.assignTo("first-job");
+        driver.get(pageUrl);
+
+        assertEquals(driver.executeScript("return localStorage.getItem('student');"), "first");
+        assertEquals(driver.executeScript("return document.cookie;"), "student=first");
+    }
+
+    private void leaveTraces(ChromeDriver driver) {
+        driver.get(pageUrl);
+        driver.executeScript("localStorage.setItem('student', 'first'); sessionStorage.setItem('student', 'first');"
+                + "document.cookie = 'student=first; path=/';");
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, content.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(content);
+        }
+    }
+}
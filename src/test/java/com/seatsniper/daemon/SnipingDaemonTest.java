@@ -0,0 +1,71 @@
+package com.seatsniper.daemon;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.seatsniper.UserData;
+import com.seatsniper.browser.BrowserProfile;
+import com.seatsniper.browser.SessionPersistence;
+import com.seatsniper.enrollment.CourseGroup;
+
+// Admission only, no worker is started so jobs stay where submit left them
+public class SnipingDaemonTest {
+    private Path jobsDirectory;
+    private SnipingDaemon daemon;
+
+    @BeforeMethod
+    public void createDaemon() throws IOException {
+        jobsDirectory = Files.createTempDirectory("seatsniper-jobs");
+        daemon = new SnipingDaemon(jobsDirectory, 1, 1, 0);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void shutDown() throws IOException {
+        daemon.shutdown();
+        Files.deleteIfExists(jobsDirectory);
+    }
+
+    @Test
+    public void jobLimitRejectsWhileTheJobIsActive() {
+        assertEquals(daemon.submit("first", userData("first"), 0), AdmissionResult.ADMITTED);
+        assertEquals(daemon.submit("second", userData("second"), 0), AdmissionResult.REJECTED);
+        assertEquals(daemon.submit("first", userData("first"), 0), AdmissionResult.REJECTED);
+    }
+
+    @Test
+    public void endedJobFreesItsSlot() {
+        daemon.submit("first", userData("first"), 0);
+        daemon.getJob("first").setState(JobState.FINISHED);
+
+        assertNotEquals(daemon.submit("second", userData("second"), 0), AdmissionResult.REJECTED);
+    }
+
+    @Test
+    public void endedJobCanBeSubmittedAgain() {
+        daemon.submit("first", userData("first"), 0);
+
+        EnrollmentJob failed = daemon.getJob("first");
+
+        failed.setState(JobState.FAILED);
+
+        assertNotEquals(daemon.submit("first", userData("first"), 0), AdmissionResult.REJECTED);
+        assertNotSame(daemon.getJob("first"), failed);
+        assertEquals(daemon.getJob("first").getState(), JobState.QUEUED);
+    }
+
+    private static UserData userData(String username) {
+        return new UserData("chromedriver", "chrome", username, "password", "Authenticator", "JBSWY3DPEHPK3PXP",
+                "2026 Spring", CourseGroup.singles(List.of("10001")), 30, 0, 0, 0,
+                BrowserProfile.PERFORMANCE, SessionPersistence.NONE, 0, 0, List.of());
+    }
+}
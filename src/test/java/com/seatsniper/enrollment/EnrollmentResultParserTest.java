@@ -0,0 +1,53 @@
+package com.seatsniper.enrollment;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import org.testng.annotations.Test;
+
+public class EnrollmentResultParserTest {
+    // course_box texts as recorded from Schedule Builder checkout results
+    private static final String ENROLLED_BOX = "CSCI 127 - Introduction to Computer Science\nLecture 16158 | MoWe 9:45AM - 11:00AM\nSuccess: This class has been added to your schedule.";
+    private static final String WAITLISTED_BOX = "MATH 150 - Mathematical Analysis I\nLecture 18551 | TuTh 12:25PM - 1:40PM\nSuccess: This class has been added to your wait list in position number 7.";
+    private static final String FAILED_BOX = "ENGL 110 - College Writing\nSeminar 17412 | Fr 10:00AM - 12:50PM\nFailed\nClass 17412 is full. You cannot enroll or be placed on the wait list.";
+    private static final String WAITLISTED_WITHOUT_POSITION_BOX = "BIOL 101 - General Biology\nLecture 17696 | MoWe 1:45PM - 3:00PM\nSuccess: This class has been added to your wait list.";
+    private static final String REQUISITES_FAILED_BOX = "CSCI 235 - Software Design and Analysis II\nLecture 18465 | TuTh 3:45PM - 5:00PM\nFailed\nRequisites Failed\nYou must complete CSCI 135.\nContact the department for a permission number.";
+
+    @Test
+    public void successWithoutWaitListIsEnrolled() {
+        assertEquals(EnrollmentResultParser.parse(ENROLLED_BOX), EnrollmentResult.enrolled());
+    }
+
+    @Test
+    public void failedBoxKeepsTheReason() {
+        EnrollmentResult result = EnrollmentResultParser.parse(FAILED_BOX);
+
+        assertEquals(result.getStatus(), EnrollmentStatus.FAILED);
+        // The full class is not a wait list result even though the reason mentions one
+        assertEquals(result.getFailureReason(), "Class 17412 is full. You cannot enroll or be placed on the wait list.");
+    }
+
+    @Test
+    public void reasonFollowsTheLastFailedMarkerOnOneLine() {
+        EnrollmentResult result = EnrollmentResultParser.parse(REQUISITES_FAILED_BOX);
+
+        assertEquals(result.getStatus(), EnrollmentStatus.FAILED);
+        assertEquals(result.getFailureReason(), "You must complete CSCI 135. Contact the department for a permission number.");
+    }
+
+    @Test
+    public void waitListKeepsThePosition() {
+        EnrollmentResult result = EnrollmentResultParser.parse(WAITLISTED_BOX);
+
+        assertEquals(result, EnrollmentResult.waitlisted(7));
+        assertEquals(result.getWaitlistPosition(), 7);
+    }
+
+    @Test
+    public void waitListWithoutPositionIsStillWaitListed() {
+        EnrollmentResult result = EnrollmentResultParser.parse(WAITLISTED_WITHOUT_POSITION_BOX);
+
+        assertEquals(result.getStatus(), EnrollmentStatus.WAITLISTED);
+        assertFalse(result.hasWaitlistPosition());
+    }
+}
@@ -0,0 +1,84 @@
+package com.seatsniper.journal;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.openqa.selenium.json.Json;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class EventJournalTest {
+    private static final int CYCLES = 2000;
+
+    private final Json json = new Json();
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("event-journal");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void batchedEventsAreWrittenWholeAndInOrder() throws IOException {
+        EventJournal journal = EventJournal.open(directory, Map.of("username", "student"));
+
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            journal.onCycleComplete(cycle, 1000, 1);
+        }
+
+        journal.close();
+
+        List<Map<String, Object>> events = readEvents();
+
+        assertEquals(journal.getDroppedEvents(), 0);
+        assertEquals(events.size(), CYCLES + 2);
+        assertEquals(events.get(0).get(JournalEvent.FIELD_TYPE), JournalEvent.TYPE_SESSION_START);
+        assertEquals(events.get(events.size() - 1).get(JournalEvent.FIELD_TYPE), JournalEvent.TYPE_SESSION_END);
+
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            assertEquals(((Number) events.get(cycle + 1).get("cycle")).intValue(), cycle);
+        }
+    }
+
+    @Test
+    public void eventsAfterCloseAreCountedAsDropped() throws IOException {
+        EventJournal journal = EventJournal.open(directory, Map.of());
+
+        journal.close();
+        journal.onCycleComplete(1, 1000, 1);
+
+        assertEquals(journal.getDroppedEvents(), 1);
+        assertEquals(readEvents().size(), 2);
+    }
+
+    private List<Map<String, Object>> readEvents() throws IOException {
+        List<Map<String, Object>> events = new ArrayList<>();
+
+        for (Path file : EventJournal.listFiles(directory)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                events.add(json.toType(line, Json.MAP_TYPE));
+            }
+        }
+
+        return events;
+    }
+}
@@ -0,0 +1,93 @@
+package com.seatsniper.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.testng.SkipException;
+
+import com.seatsniper.Sniper;
+import com.seatsniper.UserData;
+import com.seatsniper.browser.BrowserProfile;
+import com.seatsniper.browser.SessionPersistence;
+import com.seatsniper.enrollment.CourseGroup;
+
+// Tests that drive a real browser against the replica need Chrome and its driver, passed to Maven as
+// -Dseatsniper.driverPath=... -Dseatsniper.browserPath=...; without them those tests are skipped
+public final class BrowserTestSupport {
+    public static final String DRIVER_PATH_PROPERTY = "seatsniper.driverPath";
+    public static final String BROWSER_PATH_PROPERTY = "seatsniper.browserPath";
+    public static final String AUTHENTICATOR_NAME = "Mock Authenticator";
+    public static final String AUTHENTICATION_KEY = "JBSWY3DPEHPK3PXP";
+
+    private static final Path STATE_DIRECTORY = Paths.get(".seatsniper");
+    private static final int TEST_LOOP_DURATION = 300;
+    private static final String MESSAGE_SKIPPED = "Set -D" + DRIVER_PATH_PROPERTY + " and -D" + BROWSER_PATH_PROPERTY + " to run the browser tests";
+
+    private BrowserTestSupport() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+
+    public static void skipUnlessBrowserAvailable() {
+        if (isBlank(System.getProperty(DRIVER_PATH_PROPERTY)) || isBlank(System.getProperty(BROWSER_PATH_PROPERTY))) {
+            throw new SkipException(MESSAGE_SKIPPED);
+        }
+    }
+
+    // Sniper keeps checkpoints and journals per username, a fresh one per test keeps runs from resuming each other
+    public static String newUsername() {
+        return "test-" + UUID.randomUUID() + "@login.cuny.edu";
+    }
+
+    // One-second cycles on the headless profile, without a probe, session persistence or webhooks
+    public static UserData userData(String username, String term, Collection<String> sectionCodes) {
+        return groupedUserData(username, term, CourseGroup.singles(sectionCodes));
+    }
+
+    // Same, with alternatives grouped as the configuration file lists them
+    public static UserData groupedUserData(String username, String term, List<CourseGroup> courseGroups) {
+        skipUnlessBrowserAvailable();
+
+        return new UserData(System.getProperty(DRIVER_PATH_PROPERTY), System.getProperty(BROWSER_PATH_PROPERTY), username, "password",
+                AUTHENTICATOR_NAME, AUTHENTICATION_KEY, term, courseGroups, 1, 1, TEST_LOOP_DURATION, 0,
+                BrowserProfile.PERFORMANCE, SessionPersistence.NONE, 0, 0, List.of());
+    }
+
+    // Logs in on the replica and stops on the Schedule Builder with the enrollment loop ready, as Main does
+    public static Sniper signIn(Sniper sniper, MockCunyFirstServer server) throws IOException, InterruptedException {
+        sniper.setStartingPageUrl(server.getBaseUri().toString());
+        sniper.setUp();
+        sniper.login();
+        sniper.authenticate();
+        sniper.navigateToScheduleBuilder();
+        sniper.determineEligibility();
+        sniper.selectTerm();
+        sniper.initializeEnrollmentLoop();
+
+        return sniper;
+    }
+
+    public static void deleteState(String username) throws IOException {
+        Path directory = STATE_DIRECTORY.resolve(username);
+
+        if (!Files.exists(directory)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,375 @@
+package com.seatsniper.mock;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.seatsniper.pages.ScheduleBuilderPage;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.openqa.selenium.json.Json;
+
+// Local stand-in for CUNYfirst and Schedule Builder, every response is delayed by the configured latency.
+// Each login gets its own session and cart, so several students can use one replica at the same time
+public final class MockCunyFirstServer implements AutoCloseable {
+    private static final ZoneId ENROLLMENT_TIMEZONE = ZoneId.of("America/New_York");
+    private static final DateTimeFormatter APPOINTMENT_DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter APPOINTMENT_TIME_FORMAT = DateTimeFormatter.ofPattern("h:mma", Locale.ENGLISH);
+    private static final String HTML_CONTENT_TYPE = "text/html; charset=utf-8";
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final String SESSION_COOKIE = "mock_session";
+    private static final String REQUEST_BODY_ATTRIBUTE = "mock.body";
+    private static final String LOGIN_PATH = "/login";
+    private static final int HTTP_UNAUTHORIZED = 401;
+    private static final int WAITLIST_START_POSITION = 3;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Json json = new Json();
+    private final String term;
+    private final String authenticatorName;
+    private final Duration latency;
+    private final Map<String, SeatState> seatStates = new LinkedHashMap<>();
+    private final Map<String, String> sectionNames = new LinkedHashMap<>();
+    // Session id to the username that logged in with it, expiring a session only removes it from here
+    private final Map<String, String> sessions = new HashMap<>();
+    private final Map<String, Set<String>> carts = new HashMap<>();
+    private final Map<String, Set<String>> enrolledSections = new HashMap<>();
+    private final AtomicLong firstEnrollNanos = new AtomicLong();
+    private final AtomicInteger enrollRequests = new AtomicInteger();
+    private final AtomicInteger logins = new AtomicInteger();
+    private ZonedDateTime appointmentTime = ZonedDateTime.now(ENROLLMENT_TIMEZONE).minusHours(1);
+    private int nextWaitlistPosition = WAITLIST_START_POSITION;
+    private boolean cartRemovalIgnored;
+
+    public MockCunyFirstServer(String term, String authenticatorName, Duration latency) throws IOException {
+        this.term = term;
+        this.authenticatorName = authenticatorName;
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+        server.setExecutor(executor);
+        registerPages();
+        registerScheduleBuilderApi();
+    }
+
+    public synchronized void addSection(String code, String name, SeatState seatState) {
+        seatStates.put(code, seatState);
+        sectionNames.put(code, name);
+    }
+
+    public synchronized void setSeatState(String code, SeatState seatState) {
+        seatStates.put(code, seatState);
+    }
+
+    public synchronized void setAppointmentTime(ZonedDateTime appointmentTime) {
+        this.appointmentTime = appointmentTime;
+    }
+
+    // Remove clicks leave the cart as it is, like a Remove control the client no longer recognizes
+    public synchronized void setCartRemovalIgnored(boolean cartRemovalIgnored) {
+        this.cartRemovalIgnored = cartRemovalIgnored;
+    }
+
+    // Logs every student out, their next request lands on the login page like a timed out CUNYfirst session
+    public synchronized void expireSessions() {
+        sessions.clear();
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public URI getBaseUri() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/");
+    }
+
+    // System.nanoTime() of the first enrollment request, 0 until one arrives
+    public long getFirstEnrollNanos() {
+        return firstEnrollNanos.get();
+    }
+
+    public int getEnrollRequestCount() {
+        return enrollRequests.get();
+    }
+
+    public int getLoginCount() {
+        return logins.get();
+    }
+
+    // Sections checked out as enrolled or wait-listed by the student, across all of their sessions
+    public synchronized Set<String> getEnrolledSections(String username) {
+        return Set.copyOf(enrolledSections.getOrDefault(username, Set.of()));
+    }
+
+    public synchronized Set<String> getCart(String username) {
+        return Set.copyOf(carts.getOrDefault(username, Set.of()));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void registerPages() {
+        servePage("/", false, exchange -> MockPages.LANDING);
+        servePage("/home", true, exchange -> MockPages.HOME);
+        servePage("/student-center", true, exchange -> MockPages.STUDENT_CENTER);
+        servePage("/planning", true, exchange -> MockPages.PLANNING);
+        servePage("/appointments", true, exchange -> String.format(MockPages.APPOINTMENTS_TEMPLATE, term));
+        servePage("/appointment", true, exchange -> formatAppointment());
+        servePage("/sb", true, exchange -> String.format(MockPages.SCHEDULE_BUILDER_WELCOME_TEMPLATE, ScheduleBuilderPage.calculateTermCode(term), term));
+        servePage("/sb/builder", true, exchange -> MockPages.SCHEDULE_BUILDER);
+
+        server.createContext(LOGIN_PATH, delayed(exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                String sessionId = startSession(readFormParameter(exchange, "username"));
+
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + sessionId + "; Path=/");
+                redirect(exchange, "/mfa");
+            } else {
+                respond(exchange, HTML_CONTENT_TYPE, MockPages.LOGIN);
+            }
+        }));
+
+        // Any code is accepted, the replica only has to exercise the OTP form
+        server.createContext("/mfa", delayed(exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                redirect(exchange, "/home");
+            } else {
+                respond(exchange, HTML_CONTENT_TYPE, String.format(MockPages.MFA_TEMPLATE, authenticatorName));
+            }
+        }));
+    }
+
+    private void registerScheduleBuilderApi() {
+        serveApi("/sb/api/search", (exchange, username) -> search(readQueryParameter(exchange, "code")));
+
+        serveApi("/sb/api/cart", (exchange, username) -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                addToCart(username, readQueryParameter(exchange, "code"));
+            } else if ("DELETE".equals(exchange.getRequestMethod())) {
+                removeFromCart(username, readQueryParameter(exchange, "code"));
+            }
+
+            return describeCart(username);
+        });
+
+        serveApi("/sb/api/enroll", (exchange, username) -> {
+            firstEnrollNanos.compareAndSet(0, System.nanoTime());
+            enrollRequests.incrementAndGet();
+
+            return enrollCart(username);
+        });
+    }
+
+    private synchronized String startSession(String username) {
+        String sessionId = Long.toString(System.nanoTime(), 36) + "-" + logins.incrementAndGet();
+
+        sessions.put(sessionId, username);
+
+        return sessionId;
+    }
+
+    // Null when the request carries no session cookie or its session has expired
+    private synchronized String findUsername(HttpExchange exchange) {
+        String cookieHeader = exchange.getRequestHeaders().getFirst("Cookie");
+
+        if (cookieHeader == null) {
+            return null;
+        }
+
+        for (String cookie : cookieHeader.split(";")) {
+            String[] pair = cookie.trim().split("=", 2);
+
+            if (pair.length == 2 && pair[0].equals(SESSION_COOKIE)) {
+                return sessions.get(pair[1]);
+            }
+        }
+
+        return null;
+    }
+
+    private synchronized Map<String, Object> search(String code) {
+        if (!sectionNames.containsKey(code)) {
+            return Map.of("found", false);
+        }
+
+        return Map.of("found", true, "code", code, "name", sectionNames.get(code));
+    }
+
+    private synchronized void addToCart(String username, String code) {
+        if (sectionNames.containsKey(code)) {
+            carts.computeIfAbsent(username, key -> new LinkedHashSet<>()).add(code);
+        }
+    }
+
+    private synchronized void removeFromCart(String username, String code) {
+        if (cartRemovalIgnored) {
+            return;
+        }
+
+        carts.getOrDefault(username, new LinkedHashSet<>()).remove(code);
+    }
+
+    private synchronized List<Map<String, Object>> describeCart(String username) {
+        Set<String> cart = carts.getOrDefault(username, Set.of());
+        List<Map<String, Object>> items = new ArrayList<>(cart.size());
+
+        for (String code : cart) {
+            items.add(Map.of("code", code, "name", sectionNames.get(code)));
+        }
+
+        return items;
+    }
+
+    // Mirrors the checkout results: enrolled and wait-listed classes leave the cart, full ones stay for the next attempt
+    private synchronized List<Map<String, Object>> enrollCart(String username) {
+        Set<String> cart = carts.computeIfAbsent(username, key -> new LinkedHashSet<>());
+        List<Map<String, Object>> results = new ArrayList<>(cart.size());
+        List<String> settled = new ArrayList<>();
+
+        for (String code : cart) {
+            String message = switch (seatStates.get(code)) {
+                case OPEN -> "Success: This class has been added to your schedule.";
+                case WAITLIST -> "Success: This class has been added to your wait list in position number " + nextWaitlistPosition++ + ".";
+                case FULL -> "Failed Class " + code + " is full.";
+            };
+
+            if (seatStates.get(code) != SeatState.FULL) {
+                settled.add(code);
+            }
+
+            results.add(Map.of("code", code, "name", sectionNames.get(code), "message", message));
+        }
+
+        settled.forEach(cart::remove);
+        enrolledSections.computeIfAbsent(username, key -> new LinkedHashSet<>()).addAll(settled);
+
+        return results;
+    }
+
+    private synchronized String formatAppointment() {
+        return String.format(MockPages.APPOINTMENT_TEMPLATE, appointmentTime.format(APPOINTMENT_DATE_FORMAT), appointmentTime.format(APPOINTMENT_TIME_FORMAT));
+    }
+
+    // Pages behind the login send a visitor without a session to the login form, as CUNYfirst does
+    private void servePage(String path, boolean requiresSession, PageRenderer renderer) {
+        server.createContext(path, delayed(exchange -> {
+            // Contexts match by prefix, unknown sub-paths are not part of the replica
+            if (!exchange.getRequestURI().getPath().equals(path)) {
+                exchange.sendResponseHeaders(404, -1);
+
+                return;
+            }
+
+            if (requiresSession && findUsername(exchange) == null) {
+                redirect(exchange, LOGIN_PATH);
+
+                return;
+            }
+
+            respond(exchange, HTML_CONTENT_TYPE, renderer.render(exchange));
+        }));
+    }
+
+    // Data requests of an expired session are refused rather than redirected, like the Schedule Builder's XHR endpoints
+    private void serveApi(String path, ApiHandler handler) {
+        server.createContext(path, delayed(exchange -> {
+            String username = findUsername(exchange);
+
+            if (username == null) {
+                exchange.sendResponseHeaders(HTTP_UNAUTHORIZED, -1);
+
+                return;
+            }
+
+            respond(exchange, JSON_CONTENT_TYPE, json.toJson(handler.handle(exchange, username)));
+        }));
+    }
+
+    private HttpHandler delayed(HttpHandler handler) {
+        return exchange -> {
+            try (exchange) {
+                Thread.sleep(latency.toMillis());
+                exchange.setAttribute(REQUEST_BODY_ATTRIBUTE, new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                handler.handle(exchange);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(303, -1);
+    }
+
+    private static String readQueryParameter(HttpExchange exchange, String name) {
+        return readParameter(exchange.getRequestURI().getQuery(), name);
+    }
+
+    private static String readFormParameter(HttpExchange exchange, String name) {
+        return URLDecoder.decode(readParameter((String) exchange.getAttribute(REQUEST_BODY_ATTRIBUTE), name), StandardCharsets.UTF_8);
+    }
+
+    private static String readParameter(String parameters, String name) {
+        if (parameters == null) {
+            return "";
+        }
+
+        for (String pair : parameters.split("&")) {
+            int separator = pair.indexOf('=');
+
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return pair.substring(separator + 1);
+            }
+        }
+
+        return "";
+    }
+
+    @FunctionalInterface
+    private interface PageRenderer {
+        String render(HttpExchange exchange) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ApiHandler {
+        Object handle(HttpExchange exchange, String username) throws IOException;
+    }
+}
@@ -0,0 +1,195 @@
+package com.seatsniper.mock;
+
+// Replicas of the CUNYfirst and Schedule Builder markup, limited to the structure the page objects locate
+final class MockPages {
+    static final String LANDING = """
+            <!DOCTYPE html>
+            <html><head><title>CUNYfirst</title></head><body>
+            <ul>
+              <li id="menu-item-158900"><a href="#">Log In</a>
+                <ul><li id="menu-item-90744" style="display:block"><a href="/login" style="display:block">CUNYfirst</a></li></ul>
+              </li>
+            </ul>
+            </body></html>
+            """;
+
+    static final String LOGIN = """
+            <!DOCTYPE html>
+            <html><head><title>CUNY Login</title></head><body>
+            <form method="post" action="/login">
+              <input id="CUNYfirstUsernameH" name="username" type="text">
+              <input id="CUNYfirstPassword" name="password" type="password">
+              <button id="submit" type="submit">Log In</button>
+            </form>
+            <div class="mobile-message"></div>
+            </body></html>
+            """;
+
+    static final String MFA_TEMPLATE = """
+            <!DOCTYPE html>
+            <html><head><title>CUNY MFA</title></head><body>
+            <div id="loginForm" style="display:none">
+              <a href="#" onclick="document.getElementById('loginForm').style.display='none'; return false;">Enter OTP from device phone %1$s</a>
+            </div>
+            <form method="post" action="/mfa">
+              <label for="otpValue|input"><span>Enter OTP from device phone %1$s</span></label>
+              <input id="otpValue|input" name="otp" type="text">
+              <button id="_oj1|text" type="submit">Verify</button>
+            </form>
+            <a href="#" onclick="document.getElementById('loginForm').style.display='block'; return false;">Return to All Options</a>
+            </body></html>
+            """;
+
+    static final String HOME = """
+            <!DOCTYPE html>
+            <html><head><title>Homepage</title></head><body>
+            <div id="win0divPTNUI_LAND_REC_GROUPLET$0" style="display:inline-block;padding:20px" onclick="location.href='/student-center'">Student Center</div>
+            </body></html>
+            """;
+
+    static final String STUDENT_CENTER = """
+            <!DOCTYPE html>
+            <html><head><title>Student Center</title></head><body>
+            <div id="WAIT_win0" style="display:none">Processing...</div>
+            <div id="win0groupletPTNUI_LAND_REC_GROUPLET$12" style="display:inline-block;padding:20px" onclick="window.open('/sb', '_blank')">Schedule Builder</div>
+            <div id="win0divPTNUI_LAND_REC_GROUPLET$13" style="display:inline-block;padding:20px" onclick="location.href='/planning'">Course Planning</div>
+            </body></html>
+            """;
+
+    static final String PLANNING = """
+            <!DOCTYPE html>
+            <html><head><title>Course Planning</title></head><body>
+            <div id="WAIT_win0" style="display:none">Processing...</div>
+            <a href="/appointments"><span>Enrollment Appointment</span></a>
+            </body></html>
+            """;
+
+    static final String APPOINTMENTS_TEMPLATE = """
+            <!DOCTYPE html>
+            <html><head><title>Enrollment Appointments</title></head><body>
+            <div id="WAIT_win0" style="display:none">Processing...</div>
+            <a href="/appointment">%s Term</a>
+            </body></html>
+            """;
+
+    static final String APPOINTMENT_TEMPLATE = """
+            <!DOCTYPE html>
+            <html><head><title>Enrollment Appointment</title></head><body>
+            <div id="WAIT_win0" style="display:none">Processing...</div>
+            <span id="ENRL_START$0">%s<br>%s</span>
+            <a id="PT_WORK_PT_BUTTON_BACK$IMG" href="/student-center">Back</a>
+            </body></html>
+            """;
+
+    static final String SCHEDULE_BUILDER_WELCOME_TEMPLATE = """
+            <!DOCTYPE html>
+            <html><head><title>Schedule Builder</title></head><body>
+            <div id="welcomeTerms">
+              <div data-term="%s"><a class="term-card-title" href="/sb/builder">%s</a></div>
+            </div>
+            </body></html>
+            """;
+
+    static final String SCHEDULE_BUILDER = """
+            <!DOCTYPE html>
+            <html><head><title>Schedule Builder</title></head><body>
+            <div id="tab_selected">
+              <div>Courses</div><div></div><div></div><div></div><div></div><div></div><div></div>
+              <div><div>Select Course</div><div><button type="button" onclick="openSearch()">Advanced Search</button></div></div>
+            </div>
+            <div id="legend_box"></div>
+            <button id="do_continue" type="button" onclick="openCheckout()">Continue</button>
+            <div id="legend_checkout" style="display:none">
+              <input type="button" value="Back"><input type="button" value="Print">
+              <input type="button" value="Enroll" onclick="confirmEnroll()"><input type="button" value="Exit" onclick="exitCheckout()">
+            </div>
+            <div id="noticePopup" style="display:none">
+              <div><div id="popup_title"></div><div id="popup_body"></div><div id="popup_buttons"></div></div>
+            </div>
+            <script>
+              function byId(id) { return document.getElementById(id); }
+
+              function showPopup(title, body, buttons) {
+                byId('popup_title').textContent = title;
+                byId('popup_body').innerHTML = body;
+                byId('popup_buttons').innerHTML = buttons;
+                byId('noticePopup').style.display = 'block';
+              }
+
+              function closePopup() {
+                byId('noticePopup').style.display = 'none';
+                byId('popup_body').innerHTML = '';
+              }
+
+              function openSearch() {
+                showPopup('Advanced Search',
+                  '<input id="cb_search_term" type="text"><button id="course-browsing-search-btn" type="button" onclick="search()">Search</button><table id="cb_search_results"></table>',
+                  '<input type="button" value="Add Selected" onclick="addSelected()"><input type="button" value="Close" onclick="closePopup()">');
+              }
+
+              function search() {
+                fetch('/sb/api/search?code=' + encodeURIComponent(byId('cb_search_term').value))
+                  .then(response => response.json())
+                  .then(result => {
+                    byId('cb_search_results').innerHTML = result.found
+                      ? '<tr><td><input type="checkbox" id="cb-result-0" value="' + result.code + '"></td><td>' + result.name + '<br>Class ' + result.code + '</td></tr>'
+                      : '<tr><td colspan="2">No results found</td></tr>';
+                  });
+              }
+
+              function addSelected() {
+                const checkbox = byId('cb-result-0');
+
+                if (checkbox && checkbox.checked) {
+                  fetch('/sb/api/cart?code=' + encodeURIComponent(checkbox.value), { method: 'POST' })
+                    .then(response => response.json())
+                    .then(renderCart);
+                }
+              }
+
+              function renderCart(cart) {
+                byId('legend_box').innerHTML = cart.map(item => '<div class="cart_item">' + item.code + ' ' + item.name
+                  + ' <button type="button" title="Remove" data-code="' + item.code + '" onclick="removeFromCart(this.dataset.code)">x</button></div>').join('');
+              }
+
+              function removeFromCart(code) {
+                fetch('/sb/api/cart?code=' + encodeURIComponent(code), { method: 'DELETE' })
+                  .then(response => response.json())
+                  .then(renderCart);
+              }
+
+              function openCheckout() {
+                byId('legend_checkout').style.display = 'block';
+              }
+
+              function confirmEnroll() {
+                showPopup('Terms', 'Do you agree to the enrollment terms?',
+                  '<input type="button" value="I Agree" onclick="enroll()"><input type="button" value="Cancel" onclick="closePopup()">');
+              }
+
+              function enroll() {
+                closePopup();
+                byId('legend_box').innerHTML = '';
+
+                fetch('/sb/api/enroll', { method: 'POST' })
+                  .then(response => response.json())
+                  .then(results => {
+                    byId('legend_box').innerHTML = results.map(result => '<div class="course_box">' + result.code + ' ' + result.name + '<br>' + result.message + '</div>').join('');
+                  });
+              }
+
+              function exitCheckout() {
+                byId('legend_checkout').style.display = 'none';
+
+                fetch('/sb/api/cart').then(response => response.json()).then(renderCart);
+              }
+
+              fetch('/sb/api/cart').then(response => response.json()).then(renderCart);
+            </script>
+            </body></html>
+            """;
+
+    private MockPages() {
+        throw new AssertionError("Utility class should not be instantiated.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.seatsniper.mock;
+
+public enum SeatState {
+    OPEN,
+    WAITLIST,
+    FULL
+}
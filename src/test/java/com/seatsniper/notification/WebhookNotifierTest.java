@@ -0,0 +1,169 @@
+package com.seatsniper.notification;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.seatsniper.enrollment.EnrollmentResult;
+import com.sun.net.httpserver.HttpServer;
+
+public class WebhookNotifierTest {
+    private static final String TITLE = "SeatSniper test update:";
+    private static final long SHORT_WAIT_MILLIS = 20;
+    private static final long SLOW_RECEIVER_MILLIS = 3000;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+    private static final long MAX_HAND_OFF_MILLIS = 50;
+    private static final long AWAIT_TIMEOUT_MILLIS = 10000;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status;
+    private volatile long delayMillis;
+    private HttpServer receiver;
+    private WebhookNotifier notifier;
+
+    @BeforeMethod
+    public void resetReceiver() {
+        requests.set(0);
+        status = 200;
+        delayMillis = 0;
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopReceiver() {
+        if (notifier != null) {
+            notifier.close();
+        }
+        if (receiver != null) {
+            receiver.stop(0);
+        }
+    }
+
+    @Test
+    public void handOffStaysFastWithASlowReceiver() throws Exception {
+        delayMillis = SLOW_RECEIVER_MILLIS;
+        notifier = new WebhookNotifier(List.of(startReceiver()), TITLE, SHORT_WAIT_MILLIS, SHORT_WAIT_MILLIS);
+
+        long maxHandOffNanos = 0;
+
+        // Keeps reporting while the dispatcher is stuck on the first request
+        for (int cycle = 0; cycle < 200; cycle++) {
+            EnrollmentResult result = EnrollmentResult.waitlisted(cycle + 1);
+            long start = System.nanoTime();
+
+            notifier.onSectionResult("10001", "MATH 150", result);
+            notifier.onSectionResult(String.valueOf(20000 + cycle), "CSCI " + cycle, EnrollmentResult.enrolled());
+
+            maxHandOffNanos = Math.max(maxHandOffNanos, System.nanoTime() - start);
+            Thread.sleep(5);
+        }
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(maxHandOffNanos) < MAX_HAND_OFF_MILLIS, "Slowest hand-off took " + maxHandOffNanos + "ns");
+        assertEquals(notifier.getDroppedNotifications(), 0);
+    }
+
+    @Test
+    public void failingReceiverIsGivenUpAfterMaxAttempts() throws Exception {
+        status = 503;
+        notifier = new WebhookNotifier(List.of(startReceiver()), TITLE, SHORT_WAIT_MILLIS, SHORT_WAIT_MILLIS);
+
+        notifier.onSectionResult("10001", "MATH 150", EnrollmentResult.enrolled());
+
+        awaitCount(notifier::getFailedRequests, 1);
+        assertEquals(requests.get(), WebhookNotifier.MAX_ATTEMPTS);
+        assertEquals(notifier.getDeliveredRequests(), 0);
+    }
+
+    @Test
+    public void rejectedRequestIsNotRetried() throws Exception {
+        status = 400;
+        notifier = new WebhookNotifier(List.of(startReceiver()), TITLE, SHORT_WAIT_MILLIS, SHORT_WAIT_MILLIS);
+
+        notifier.onSectionResult("10001", "MATH 150", EnrollmentResult.enrolled());
+
+        awaitCount(notifier::getFailedRequests, 1);
+        assertEquals(requests.get(), 1);
+    }
+
+    @Test
+    public void undeliveredResultIsSentWhenReportedAgain() throws Exception {
+        status = 503;
+        notifier = new WebhookNotifier(List.of(startReceiver()), TITLE, SHORT_WAIT_MILLIS, SHORT_WAIT_MILLIS);
+
+        notifier.onSectionResult("10001", "MATH 150", EnrollmentResult.enrolled());
+        awaitCount(notifier::getFailedRequests, 1);
+
+        // The receiver is back and the next cycle reports the same result
+        status = 200;
+        notifier.onSectionResult("10001", "MATH 150", EnrollmentResult.enrolled());
+        awaitCount(notifier::getDeliveredRequests, 1);
+
+        // Once delivered, repeats are skipped again
+        notifier.onSectionResult("10001", "MATH 150", EnrollmentResult.enrolled());
+        Thread.sleep(SHORT_WAIT_MILLIS * 10);
+
+        assertEquals(requests.get(), WebhookNotifier.MAX_ATTEMPTS + 1);
+    }
+
+    @Test
+    public void closeIsBoundedWithAnUnresponsiveReceiver() throws Exception {
+        delayMillis = TimeUnit.MINUTES.toMillis(1);
+        notifier = new WebhookNotifier(List.of(startReceiver()), TITLE, SHORT_WAIT_MILLIS, SHORT_WAIT_MILLIS);
+
+        notifier.onSectionResult("10001", "MATH 150", EnrollmentResult.enrolled());
+        awaitCount(requests::get, 1);
+
+        long start = System.nanoTime();
+
+        notifier.close();
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < CLOSE_TIMEOUT_MILLIS + 1000);
+    }
+
+    private URI startReceiver() throws IOException {
+        receiver = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        receiver.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+
+            return thread;
+        }));
+        receiver.createContext("/hook", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        receiver.start();
+
+        return URI.create("http://127.0.0.1:" + receiver.getAddress().getPort() + "/hook");
+    }
+
+    private static void awaitCount(LongSupplier counter, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(AWAIT_TIMEOUT_MILLIS);
+
+        while (counter.getAsLong() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + expected);
+            Thread.sleep(SHORT_WAIT_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.seatsniper.pages;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class LoopPageTest {
+    @Test
+    public void containsCodeMatchesWholeCodes() {
+        assertTrue(LoopPage.containsCode("1234 MATH 150 - Calculus I", "1234"));
+        assertTrue(LoopPage.containsCode("MATH 150 - Calculus I\nClass 1234", "1234"));
+        assertTrue(LoopPage.containsCode("12345 CSCI 127, 1234 MATH 150", "1234"));
+        assertTrue(LoopPage.containsCode("Class #1234.", "1234"));
+    }
+
+    @Test
+    public void containsCodeIgnoresCodesInsideLongerNumbers() {
+        assertFalse(LoopPage.containsCode("12345 CSCI 127 - Introduction to Computer Science", "1234"));
+        assertFalse(LoopPage.containsCode("Class 91234", "1234"));
+        assertFalse(LoopPage.containsCode("", "1234"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.seatsniper.probe;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+// Runs the parser over class data responses recorded from Schedule Builder
+public class ClassDataParserTest {
+    @Test
+    public void openSeatsAreReadPerClassNumber() throws IOException {
+        Map<String, Integer> openSeats = ClassDataParser.parseOpenSeats(recorded("open.xml"));
+
+        // The lecture's three seats win over the recitation's one, a blank count is unknown
+        assertEquals(openSeats, Map.of("10001", 3, "10002", 0, "10003", ClassDataParser.UNKNOWN_OPEN_SEATS));
+    }
+
+    @Test
+    public void closedSectionsHaveNoOpenSeats() throws IOException {
+        assertEquals(ClassDataParser.parseOpenSeats(recorded("closed.xml")), Map.of("10001", 0, "10002", 0));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void htmlErrorPageIsRejected() throws IOException {
+        ClassDataParser.parseOpenSeats(recorded("malformed.xml"));
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void truncatedResponseIsRejected() throws IOException {
+        String body = recorded("open.xml");
+
+        ClassDataParser.parseOpenSeats(body.substring(0, body.length() / 2));
+    }
+
+    static String recorded(String name) throws IOException {
+        try (InputStream stream = ClassDataParserTest.class.getResourceAsStream("/probe/" + name)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
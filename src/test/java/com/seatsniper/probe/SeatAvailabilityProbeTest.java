@@ -0,0 +1,117 @@
+package com.seatsniper.probe;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.openqa.selenium.Cookie;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class SeatAvailabilityProbeTest {
+    private static final List<String> CLASS_NUMBERS = List.of("10001", "10002", "10003");
+
+    private HttpServer server;
+    private SeatAvailabilityProbe probe;
+    private volatile int status;
+    private volatile String body;
+    private volatile String location;
+    private volatile String receivedCookies;
+    private volatile String receivedQuery;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/class-data", this::answer);
+        server.start();
+
+        URI baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+        Set<Cookie> cookies = Set.of(new Cookie("JSESSIONID", "abc123"));
+
+        probe = new SeatAvailabilityProbe(baseUri, "1272", () -> cookies);
+        status = 200;
+        location = null;
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void sectionsWithOpenOrUnknownSeatsAreAvailable() throws Exception {
+        body = ClassDataParserTest.recorded("open.xml");
+
+        assertEquals(probe.findAvailableSections(CLASS_NUMBERS), Set.of("10001", "10003"));
+        assertEquals(receivedCookies, "JSESSIONID=abc123");
+        assertTrue(receivedQuery.startsWith("term=1272&course_0_0=10001&course_1_0=10002&course_2_0=10003&t="));
+    }
+
+    @Test
+    public void closedSectionsAreNotAvailable() throws Exception {
+        body = ClassDataParserTest.recorded("closed.xml");
+
+        // 10003 is missing from the response, so the browser still gets to decide on it
+        assertEquals(probe.findAvailableSections(CLASS_NUMBERS), Set.of("10003"));
+        assertTrue(probe.findAvailableSections(List.of("10001", "10002")).isEmpty());
+    }
+
+    @Test(expectedExceptions = SessionExpiredException.class)
+    public void redirectToLoginIsSessionExpiry() throws Exception {
+        status = 302;
+        location = "/login";
+        body = "";
+
+        probe.fetchOpenSeats(CLASS_NUMBERS);
+    }
+
+    @Test(expectedExceptions = SessionExpiredException.class)
+    public void unauthorizedIsSessionExpiry() throws Exception {
+        status = 401;
+        body = "";
+
+        probe.fetchOpenSeats(CLASS_NUMBERS);
+    }
+
+    @Test
+    public void serverErrorIsNotSessionExpiry() throws Exception {
+        status = 503;
+        body = ClassDataParserTest.recorded("malformed.xml");
+
+        IOException failure = expectThrows(IOException.class, () -> probe.fetchOpenSeats(CLASS_NUMBERS));
+
+        // A struggling server is worth a browser attempt, logging in again would not help
+        assertFalse(failure instanceof SessionExpiredException);
+    }
+
+    private void answer(HttpExchange exchange) throws IOException {
+        receivedCookies = exchange.getRequestHeaders().getFirst("Cookie");
+        receivedQuery = exchange.getRequestURI().getRawQuery();
+
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+
+        if (location != null) {
+            exchange.getResponseHeaders().set("Location", location);
+        }
+
+        exchange.sendResponseHeaders(status, content.length == 0 ? -1 : content.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(content);
+        }
+    }
+}
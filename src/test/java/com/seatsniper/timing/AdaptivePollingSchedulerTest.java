@@ -0,0 +1,83 @@
+package com.seatsniper.timing;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+public class AdaptivePollingSchedulerTest {
+    private static final Duration PERIOD = Duration.ofSeconds(10);
+    private static final long PERIOD_NANOS = PERIOD.toNanos();
+    private static final Duration PROBE_INTERVAL = Duration.ofMillis(200);
+    private static final long PROBE_NANOS = PROBE_INTERVAL.toNanos();
+
+    @Test
+    public void peekingDoesNotClaimTheSlot() {
+        AdaptivePollingScheduler scheduler = new AdaptivePollingScheduler(PERIOD, PERIOD);
+        long start = System.nanoTime();
+
+        scheduler.cycleStarted(start);
+
+        assertEquals(scheduler.peekDeadlineNanos(), start + PERIOD_NANOS);
+        assertEquals(scheduler.peekDeadlineNanos(), start + PERIOD_NANOS);
+        assertWithinJitter(scheduler.nextDeadlineNanos(), start + PERIOD_NANOS, PERIOD_NANOS);
+    }
+
+    @Test
+    public void cycleStartedAfterAPeekClaimsItsSlot() {
+        AdaptivePollingScheduler scheduler = new AdaptivePollingScheduler(PERIOD, PERIOD);
+        long start = System.nanoTime();
+
+        scheduler.cycleStarted(start);
+        // A caller scheduled the next cycle from the peek and it started a little late
+        scheduler.cycleStarted(scheduler.peekDeadlineNanos() + TimeUnit.MILLISECONDS.toNanos(30));
+
+        assertEquals(scheduler.peekDeadlineNanos(), start + 2 * PERIOD_NANOS);
+    }
+
+    @Test
+    public void cycleStartedSlotsLateRestartsTheGrid() {
+        AdaptivePollingScheduler scheduler = new AdaptivePollingScheduler(PERIOD, PERIOD);
+        long start = System.nanoTime();
+        long lateStart = start + 3 * PERIOD_NANOS + 1;
+
+        scheduler.cycleStarted(start);
+        scheduler.cycleStarted(lateStart);
+
+        assertEquals(scheduler.peekDeadlineNanos(), lateStart + PERIOD_NANOS);
+    }
+
+    @Test
+    public void probesStayOnTheGridWhateverTheyCost() throws InterruptedException {
+        AdaptivePollingScheduler scheduler = new AdaptivePollingScheduler(PERIOD, PERIOD);
+        long start = System.nanoTime();
+
+        scheduler.cycleStarted(start);
+
+        for (int probe = 1; probe <= 3; probe++) {
+            long deadline = scheduler.nextProbeDeadlineNanos(PROBE_INTERVAL);
+
+            assertWithinJitter(deadline, start + probe * PROBE_NANOS, PROBE_NANOS);
+            scheduler.awaitDeadline(deadline);
+            // Time spent on the probe request itself must not push the next one back
+            Thread.sleep(30);
+        }
+    }
+
+    @Test
+    public void unanchoredSchedulerIsDueNow() {
+        AdaptivePollingScheduler scheduler = new AdaptivePollingScheduler(PERIOD, PERIOD);
+        long before = System.nanoTime();
+        long deadline = scheduler.peekDeadlineNanos();
+
+        assertTrue(deadline >= before && deadline <= System.nanoTime());
+    }
+
+    // The jitter adds up to a tenth of the step to a deadline
+    private static void assertWithinJitter(long deadline, long slot, long stepNanos) {
+        assertTrue(deadline >= slot && deadline < slot + stepNanos / 10 + 1, "Deadline " + (deadline - slot) + "ns off its slot");
+    }
+}
@@ -0,0 +1,73 @@
+package com.seatsniper.timing;
+
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+// The stub server stamps its real time into the Date header, so the machine's clock is skewed instead: a local clock
+// behind by a known amount sees a server ahead by that amount. Each response is held back by random jitter
+public class ClockOffsetEstimatorTest {
+    private static final int MAX_JITTER_MILLIS = 40;
+    // Eight samples spaced one and an eighth seconds apart each land an eighth of a second later within the Date
+    // header's second, narrowing its one second resolution to about this
+    private static final Duration MAX_UNCERTAINTY = Duration.ofMillis(250);
+
+    private HttpServer server;
+    private URI serverUri;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(MAX_JITTER_MILLIS + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        serverUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @DataProvider
+    public Object[][] skews() {
+        return new Object[][] {
+            { Duration.ofMillis(2700) },
+            { Duration.ofMillis(-1350) }
+        };
+    }
+
+    @Test(dataProvider = "skews")
+    public void knownSkewLiesWithinTheReportedBounds(Duration serverSkew) throws Exception {
+        Clock localClock = Clock.offset(Clock.systemUTC(), serverSkew.negated());
+        ClockOffset estimate = new ClockOffsetEstimator(serverUri, Set::of, localClock).estimate();
+
+        Duration error = estimate.getOffset().minus(serverSkew).abs();
+
+        assertTrue(error.compareTo(estimate.getUncertainty()) <= 0, "Skew " + serverSkew + " is outside " + estimate);
+        assertTrue(estimate.getUncertainty().compareTo(MAX_UNCERTAINTY) <= 0, "Bounds too wide: " + estimate);
+    }
+}
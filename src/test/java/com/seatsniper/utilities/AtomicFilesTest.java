@@ -0,0 +1,69 @@
+package com.seatsniper.utilities;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class AtomicFilesTest {
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("atomic-files");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void replaceWritesTheContentWithoutLeavingTheTemporaryFile() throws IOException {
+        Path file = directory.resolve("nested").resolve("state.json");
+
+        AtomicFiles.replace(file, bytes("{\"first\":true}"), false);
+        AtomicFiles.replace(file, bytes("{\"second\":true}"), false);
+
+        assertEquals(Files.readString(file, StandardCharsets.UTF_8), "{\"second\":true}");
+        assertFalse(Files.exists(file.resolveSibling("state.json.tmp")));
+    }
+
+    @Test
+    public void ownerOnlyFilesAreUnreadableToOthers() throws IOException {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            throw new SkipException("POSIX permissions are not supported here");
+        }
+
+        Path file = directory.resolve("session.json");
+
+        // A world readable leftover from a crash must not pass its permissions on
+        Files.writeString(file.resolveSibling("session.json.tmp"), "stale");
+        Files.setPosixFilePermissions(file.resolveSibling("session.json.tmp"), PosixFilePermissions.fromString("rw-r--r--"));
+
+        AtomicFiles.replace(file, bytes("cookies"), true);
+
+        assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(file)), "rw-------");
+        assertEquals(Files.readString(file, StandardCharsets.UTF_8), "cookies");
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
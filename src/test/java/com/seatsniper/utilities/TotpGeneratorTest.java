@@ -0,0 +1,85 @@
+package com.seatsniper.utilities;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.testng.annotations.Test;
+
+public class TotpGeneratorTest {
+    private static final String SECRET = "JBSWY3DPEHPK3PXP";
+    private static final Duration MIN_VALIDITY = Duration.ofSeconds(8);
+    private static final long STEP = 56_000_000L;
+    private static final Instant STEP_START = Instant.ofEpochSecond(STEP * 30);
+
+    @Test
+    public void codeWithEnoughTimeLeftIsTheCurrentStep() {
+        TotpCode code = generatorAt(STEP_START.plusSeconds(10)).codeValidFor(MIN_VALIDITY);
+
+        assertEquals(code.getStep(), STEP);
+        assertEquals(code.getValidFrom(), STEP_START);
+        assertEquals(code.getValidUntil(), STEP_START.plusSeconds(30));
+    }
+
+    @Test
+    public void codeAboutToExpireRollsOverToTheNextStep() {
+        // 22 seconds in leaves exactly the minimum, a millisecond later leaves less
+        TotpCode lastInStep = generatorAt(STEP_START.plusSeconds(22)).codeValidFor(MIN_VALIDITY);
+        TotpCode rolledOver = generatorAt(STEP_START.plusSeconds(22).plusMillis(1)).codeValidFor(MIN_VALIDITY);
+
+        assertEquals(lastInStep.getStep(), STEP);
+        assertEquals(rolledOver.getStep(), STEP + 1);
+        assertEquals(rolledOver.getValidFrom(), STEP_START.plusSeconds(30));
+        assertNotEquals(rolledOver.getCode(), lastInStep.getCode());
+    }
+
+    @Test
+    public void sameStepGivesTheSameCode() {
+        TotpCode early = generatorAt(STEP_START).codeValidFor(MIN_VALIDITY);
+        TotpCode late = generatorAt(STEP_START.plusSeconds(29)).codeValidFor(Duration.ZERO);
+
+        assertEquals(late.getCode(), early.getCode());
+        assertEquals(early.getCode().length(), 6);
+    }
+
+    @Test
+    public void retryWithinTheRejectedStepMovesToTheNextOne() {
+        TotpGenerator generator = generatorAt(STEP_START.plusSeconds(5));
+        TotpCode rejected = generator.codeValidFor(MIN_VALIDITY);
+
+        TotpCode retry = generator.codeAfter(rejected, MIN_VALIDITY);
+
+        assertEquals(rejected.getStep(), STEP);
+        assertEquals(retry.getStep(), STEP + 1);
+        assertEquals(retry.getValidFrom(), STEP_START.plusSeconds(30));
+    }
+
+    @Test
+    public void retryOfACodeTypedAheadSkipsPastItsStep() {
+        // The rejected code was for the next step, so the clock's own step is already behind it
+        TotpGenerator generator = generatorAt(STEP_START.plusSeconds(25));
+        TotpCode rejected = generator.codeValidFor(MIN_VALIDITY);
+
+        TotpCode retry = generator.codeAfter(rejected, MIN_VALIDITY);
+
+        assertEquals(rejected.getStep(), STEP + 1);
+        assertEquals(retry.getStep(), STEP + 2);
+    }
+
+    @Test
+    public void retryAfterTheRejectedStepEndedUsesTheCurrentStep() {
+        TotpCode rejected = generatorAt(STEP_START.plusSeconds(5)).codeValidFor(MIN_VALIDITY);
+
+        TotpCode retry = generatorAt(STEP_START.plusSeconds(65)).codeAfter(rejected, MIN_VALIDITY);
+
+        assertEquals(retry.getStep(), STEP + 2);
+    }
+
+    private static TotpGenerator generatorAt(Instant now) {
+        return new TotpGenerator(SECRET, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}